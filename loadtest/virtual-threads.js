@@ -0,0 +1,97 @@
+// Comparaison threads plateforme / threads virtuels (profil "virtual") sous charge d'E/S.
+// Modèle ouvert (débit d'arrivée constant) : un serveur saturé se voit en latence et en itérations
+// abandonnées (dropped_iterations), au lieu de ralentir silencieusement le générateur de charge.
+//
+// Variables : BASE_URL (http://localhost:8080), USERNAME / PASSWORD (compte créé au besoin),
+// RATE (requêtes/s au palier, 300), DURATION (durée du palier, 2m), MAX_VUS (2000).
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'loadtest';
+const PASSWORD = __ENV.PASSWORD || 'loadtest-password';
+const RATE = parseInt(__ENV.RATE || '300', 10);
+const DURATION = __ENV.DURATION || '2m';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000', 10);
+
+export const options = {
+    scenarios: {
+        // Lectures courtes : pages, détail, recherche
+        reads: {
+            executor: 'ramping-arrival-rate',
+            exec: 'reads',
+            startRate: Math.ceil(RATE / 10),
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: MAX_VUS,
+            stages: [
+                { target: RATE, duration: '30s' },
+                { target: RATE, duration: DURATION },
+                { target: 0, duration: '10s' },
+            ],
+        },
+        // Exports en streaming : requêtes longues qui occupent un thread de requête pendant toute la lecture
+        exports: {
+            executor: 'constant-arrival-rate',
+            exec: 'exports',
+            rate: Math.max(1, Math.ceil(RATE / 100)),
+            timeUnit: '1s',
+            duration: DURATION,
+            startTime: '30s',
+            preAllocatedVUs: 20,
+            maxVUs: 200,
+        },
+    },
+    thresholds: {
+        'http_req_failed{scenario:reads}': ['rate<0.01'],
+        'http_req_duration{scenario:reads}': ['p(95)<500', 'p(99)<1500'],
+        'http_req_duration{scenario:exports}': ['p(95)<30000'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const headers = { 'Content-Type': 'application/json' };
+    // Compte de test : une inscription déjà faite répond en erreur, sans conséquence
+    http.post(`${BASE_URL}/api/auth/signup`,
+        JSON.stringify({ username: USERNAME, email: `${USERNAME}@example.com`, password: PASSWORD }), { headers });
+
+    const login = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ usernameOrEmail: USERNAME, password: PASSWORD }), { headers });
+    check(login, { 'connexion réussie': (r) => r.status === 200 });
+    const token = login.json('accessToken');
+
+    // Identifiants réels pour les lectures par id (15 min de validité du token d'accès : palier plus court)
+    const page = http.get(`${BASE_URL}/api/fournisseurs?size=100&total=none`, requestParams(token, 'setup'));
+    const content = page.status === 200 ? (page.json('data.content') || []) : [];
+    return { token, ids: content.map((fournisseur) => fournisseur.id) };
+}
+
+export function reads(data) {
+    const roll = Math.random();
+    let response;
+    if (roll < 0.4 && data.ids.length > 0) {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        response = http.get(`${BASE_URL}/api/fournisseurs/${id}`, requestParams(data.token, 'byId'));
+    } else if (roll < 0.7) {
+        response = http.get(`${BASE_URL}/api/fournisseurs/scroll?size=20`, requestParams(data.token, 'scroll'));
+    } else if (roll < 0.9) {
+        response = http.get(`${BASE_URL}/api/fournisseurs/search?raisonSociale=a&size=20`,
+            requestParams(data.token, 'search'));
+    } else {
+        response = http.get(`${BASE_URL}/api/fournisseurs/active/summary`, requestParams(data.token, 'activeSummary'));
+    }
+    check(response, { 'statut 200': (r) => r.status === 200 });
+}
+
+export function exports(data) {
+    const params = requestParams(data.token, 'export');
+    params.timeout = '120s';
+    const response = http.get(`${BASE_URL}/api/fournisseurs/export?format=csv`, params);
+    check(response, { 'export 200': (r) => r.status === 200 });
+}
+
+// Regroupe les métriques par type de requête (tag name) plutôt que par URL
+function requestParams(token, name) {
+    return { headers: { Authorization: `Bearer ${token}` }, tags: { name } };
+}
@@ -0,0 +1,64 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.dto.ApiResponse;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.dto.PagedResponse;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson de l'enveloppe ApiResponse d'une page de fournisseurs (JSON, CBOR, Smile)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    // Même configuration que l'ObjectMapper auto-configuré par Spring Boot (dates ISO-8601)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+    private PagedResponse<FournisseurResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        FournisseurMapper mapper = new FournisseurMapper();
+        List<FournisseurResponseDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(mapper.mapToResponseDto(BenchmarkFixtures.fournisseur(i)));
+        }
+        page = PagedResponse.of(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Fournisseurs récupérés avec succès", page));
+    }
+
+    @Benchmark
+    public byte[] serializePageCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(ApiResponse.success("Fournisseurs récupérés avec succès", page));
+    }
+
+    @Benchmark
+    public byte[] serializePageSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(ApiResponse.success("Fournisseurs récupérés avec succès", page));
+    }
+}
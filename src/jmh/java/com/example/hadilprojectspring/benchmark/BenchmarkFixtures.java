@@ -0,0 +1,64 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Données et composants partagés par les benchmarks
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "benchmarkSecretKey12345678901234567890123456";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtils jwtUtils(long cacheMaxSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", cacheMaxSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    static Fournisseur fournisseur(long id) {
+        Fournisseur fournisseur = new Fournisseur();
+        fournisseur.setId(id);
+        fournisseur.setMatricule("MAT" + id);
+        fournisseur.setRaisonSociale("Société Générale de Fournitures " + id);
+        fournisseur.setAdresse("12 rue de la République, 1002 Tunis");
+        fournisseur.setCodeTva("TVA" + id);
+        fournisseur.setEmail("contact" + id + "@fournisseur.tn");
+        fournisseur.setTelephone1("71000000");
+        fournisseur.setTelephone2("71000001");
+        fournisseur.setFax("71000002");
+        fournisseur.setResponsableContact("Hadil Ben Salem");
+        fournisseur.setDevise("TND");
+        fournisseur.setObservations("Fournisseur référencé, délais de livraison respectés.");
+        fournisseur.setActif(true);
+        fournisseur.setDateCreation(LocalDateTime.of(2025, 1, 1, 8, 0));
+        fournisseur.setDateModification(LocalDateTime.of(2025, 6, 1, 8, 0));
+        return fournisseur;
+    }
+
+    static FournisseurRequestDto requestDto(long id) {
+        FournisseurRequestDto dto = new FournisseurRequestDto();
+        dto.setMatricule("MAT" + id);
+        dto.setRaisonSociale("Société Générale de Fournitures " + id);
+        dto.setAdresse("12 rue de la République, 1002 Tunis");
+        dto.setCodeTva("TVA" + id);
+        dto.setEmail("contact" + id + "@fournisseur.tn");
+        dto.setTelephone1("71000000");
+        dto.setResponsableContact("Hadil Ben Salem");
+        dto.setDevise("TND");
+        dto.setActif(true);
+        return dto;
+    }
+}
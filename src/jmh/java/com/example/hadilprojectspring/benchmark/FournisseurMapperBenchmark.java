@@ -0,0 +1,41 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions entité/DTO de FournisseurMapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FournisseurMapperBenchmark {
+
+    private final FournisseurMapper mapper = new FournisseurMapper();
+    private Fournisseur fournisseur;
+    private FournisseurRequestDto requestDto;
+
+    @Setup
+    public void setUp() {
+        fournisseur = BenchmarkFixtures.fournisseur(1);
+        requestDto = BenchmarkFixtures.requestDto(1);
+    }
+
+    @Benchmark
+    public FournisseurResponseDto mapToResponseDto() {
+        return mapper.mapToResponseDto(fournisseur);
+    }
+
+    @Benchmark
+    public Fournisseur mapToEntity() {
+        return mapper.mapToEntity(requestDto);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.entity.User;
+import com.example.hadilprojectspring.repository.UserRepository;
+import com.example.hadilprojectspring.security.JwtAuthenticationFilter;
+import com.example.hadilprojectspring.security.JwtUtils;
+import com.example.hadilprojectspring.security.TokenRevocationList;
+import com.example.hadilprojectspring.security.UserPrincipalCache;
+import com.example.hadilprojectspring.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passage d'une requête authentifiée dans JwtAuthenticationFilter (token et principal en cache, contrôle de révocation)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils(10_000);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        User user = new User("hadil", "hadil@example.com", "$2a$10$hash");
+        Mockito.when(userRepository.findByUsernameOrEmail("hadil", "hadil")).thenReturn(Optional.of(user));
+
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(userPrincipalCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userPrincipalCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userPrincipalCache, "ttlSeconds", 300L);
+        userPrincipalCache.init();
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "userPrincipalCache", userPrincipalCache);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenRevocationList", new TokenRevocationList());
+
+        authorizationHeader = "Bearer " + jwtUtils.generateTokenFromUsername("hadil");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fournisseurs");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
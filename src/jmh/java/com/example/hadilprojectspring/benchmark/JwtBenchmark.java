@@ -0,0 +1,57 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération et validation des tokens JWT (cache des tokens vérifiés chaud et froid)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtUtils jwtUtils;
+    private JwtUtils coldCacheJwtUtils;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils(10_000);
+        token = jwtUtils.generateTokenFromUsername("hadil");
+        jwtUtils.getValidatedClaims(token);
+
+        // Cache très petit et tokens tous différents : chaque validation vérifie la signature
+        coldCacheJwtUtils = BenchmarkFixtures.jwtUtils(16);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = coldCacheJwtUtils.generateTokenFromUsername("user" + i);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUsername("hadil");
+    }
+
+    @Benchmark
+    public Claims validateCachedToken() {
+        return jwtUtils.getValidatedClaims(token);
+    }
+
+    @Benchmark
+    public Claims validateUncachedToken() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return coldCacheJwtUtils.getValidatedClaims(tokens[next]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.hadilprojectspring.benchmark;
+
+import com.example.hadilprojectspring.config.RateLimitProperties;
+import com.example.hadilprojectspring.security.RateLimitFilter;
+import com.example.hadilprojectspring.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût de la limitation de débit sur une requête acceptée : seau seul, puis filtre complet
+ * (recherche de politique + seau), à comparer avec passThrough (route sans politique)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private TokenBucket bucket;
+    private RateLimitFilter filter;
+    private MockHttpServletRequest limitedRequest;
+    private MockHttpServletRequest unlimitedRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        // Capacité et débit assez grands pour que toutes les requêtes soient acceptées
+        bucket = new TokenBucket(Integer.MAX_VALUE, 1, System.nanoTime());
+
+        RateLimitProperties properties = new RateLimitProperties(true, List.of(
+                new RateLimitProperties.Policy("login", "/api/auth/login", Integer.MAX_VALUE, Integer.MAX_VALUE,
+                        RateLimitProperties.KeyType.IP),
+                new RateLimitProperties.Policy("auth", "/api/auth/**", Integer.MAX_VALUE, Integer.MAX_VALUE,
+                        RateLimitProperties.KeyType.IP)));
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        limitedRequest = new MockHttpServletRequest("GET", "/api/auth/checkUsernameAvailability");
+        limitedRequest.setRemoteAddr("203.0.113.7");
+        unlimitedRequest = new MockHttpServletRequest("GET", "/api/fournisseurs");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public long tokenBucket() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public Object limitedRoute() throws ServletException, IOException {
+        filter.doFilter(limitedRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public Object passThrough() throws ServletException, IOException {
+        filter.doFilter(unlimitedRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -3,9 +3,11 @@ package com.example.hadilprojectspring;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.example.hadilprojectspring")
+@EnableScheduling
 public class HadilprojectspringApplication {
 
 	public static void main(String[] args) {
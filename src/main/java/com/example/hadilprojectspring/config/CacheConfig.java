@@ -0,0 +1,52 @@
+package com.example.hadilprojectspring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+// Intercepteur de cache placé avant l'intercepteur transactionnel : un hit ne démarre pas de transaction
+// et n'emprunte donc pas de connexion au pool
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    // Fournisseurs par ID
+    public static final String FOURNISSEURS = "fournisseurs";
+
+    // Liste des fournisseurs actifs
+    public static final String FOURNISSEURS_ACTIFS = "fournisseursActifs";
+
+    // Premières pages de la liste paginée
+    public static final String FOURNISSEURS_PAGES = "fournisseursPages";
+
+    // Totaux exacts des listes et recherches paginées (mode total=cached)
+    public static final String FOURNISSEURS_COUNTS = "fournisseursCounts";
+
+    // Seules les pages d'index inférieur à cette valeur sont mises en cache
+    public static final int MAX_CACHED_PAGE = 3;
+
+    @Value("${app.cache.caffeine.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}")
+    private String caffeineSpec;
+
+    /**
+     * Gestionnaire de cache Caffeine (statistiques activées pour les métriques hit/miss).
+     * Les mises à jour et évictions ne sont appliquées qu'après le commit de la transaction,
+     * pour qu'une lecture concurrente ne remette pas en cache une donnée non encore validée.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheSpecification(caffeineSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCacheNames(List.of(FOURNISSEURS, FOURNISSEURS_ACTIFS, FOURNISSEURS_PAGES,
+                FOURNISSEURS_COUNTS));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
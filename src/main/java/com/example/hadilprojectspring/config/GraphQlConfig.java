@@ -0,0 +1,67 @@
+package com.example.hadilprojectspring.config;
+
+import com.example.hadilprojectspring.exception.BadRequestException;
+import com.example.hadilprojectspring.exception.ResourceNotFoundException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+
+@Configuration
+public class GraphQlConfig {
+
+    /**
+     * Refuse les requêtes trop imbriquées avant toute exécution
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${app.graphql.max-depth:8}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    /**
+     * Refuse les requêtes trop coûteuses : un champ de liste compte autant de fois que d'éléments demandés (first)
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${app.graphql.max-complexity:5000}") int maxComplexity) {
+        FieldComplexityCalculator calculator = (environment, childComplexity) -> {
+            Object first = environment.getArguments().get("first");
+            int multiplier = first instanceof Integer count && count > 0 ? count : 1;
+            return multiplier * (1 + childComplexity);
+        };
+        return new MaxQueryComplexityInstrumentation(maxComplexity, calculator);
+    }
+
+    /**
+     * Traduit les exceptions métier en erreurs GraphQL typées (sinon INTERNAL_ERROR)
+     */
+    @Bean
+    public DataFetcherExceptionResolver graphQlExceptionResolver() {
+        return new DataFetcherExceptionResolverAdapter() {
+            @Override
+            protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment environment) {
+                ErrorType errorType;
+                if (ex instanceof ResourceNotFoundException) {
+                    errorType = ErrorType.NOT_FOUND;
+                } else if (ex instanceof BadRequestException) {
+                    errorType = ErrorType.BAD_REQUEST;
+                } else {
+                    return null;
+                }
+                return GraphqlErrorBuilder.newError(environment)
+                        .errorType(errorType)
+                        .message(ex.getMessage())
+                        .build();
+            }
+        };
+    }
+}
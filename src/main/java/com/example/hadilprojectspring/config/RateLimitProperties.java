@@ -0,0 +1,26 @@
+package com.example.hadilprojectspring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Politiques de limitation de débit (app.rate-limit.*) : la première politique dont le motif correspond
+ * au chemin s'applique ; un seau de jetons par clé (IP ou utilisateur) et par politique
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue List<Policy> policies) {
+
+    public record Policy(String name, String path, int capacity, int refillPerMinute,
+                         @DefaultValue("IP") KeyType key) {
+    }
+
+    public enum KeyType {
+        // Adresse IP du client
+        IP,
+        // Utilisateur authentifié, sinon adresse IP
+        USER
+    }
+}
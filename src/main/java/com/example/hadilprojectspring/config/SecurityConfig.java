@@ -1,8 +1,13 @@
 package com.example.hadilprojectspring.config;
 
+import com.example.hadilprojectspring.security.BoundedPasswordEncoder;
 import com.example.hadilprojectspring.security.JwtAuthenticationFilter;
+import com.example.hadilprojectspring.security.RateLimitFilter;
 import com.example.hadilprojectspring.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,6 +30,7 @@ import java.util.Arrays;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
@@ -32,6 +38,30 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password.threads:2}")
+    private int hashingThreads;
+
+    @Value("${app.security.password.queue-capacity:50}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password.timeout-ms:2000}")
+    private long hashingTimeoutMs;
+
     /**
      * Configuration du filtre de sécurité
      */
@@ -45,11 +75,19 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        // Supervision : santé ouverte ; scraping Prometheus ouvert uniquement sur le port de gestion
+                        // interne (management.server.port), réservé aux administrateurs partout ailleurs
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(request -> isManagementPort(request.getLocalPort())
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Tous les autres endpoints nécessitent une authentification
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Après le JWT pour pouvoir limiter par utilisateur authentifié
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         // Pour H2 Console (si utilisé en développement)
         http.headers(headers -> headers.frameOptions().sameOrigin());
@@ -77,11 +115,12 @@ public class SecurityConfig {
     }
 
     /**
-     * Encodeur de mot de passe
+     * Encodeur de mot de passe : BCrypt (facteur de coût configurable) exécuté sur un pool dédié et borné
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                hashingThreads, hashingQueueCapacity, hashingTimeoutMs, meterRegistry);
     }
 
     /**
@@ -99,4 +138,11 @@ public class SecurityConfig {
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
+
+    /**
+     * Vrai pour une requête reçue sur un port de gestion distinct du port applicatif
+     */
+    private boolean isManagementPort(int localPort) {
+        return managementPort > 0 && managementPort != serverPort && localPort == managementPort;
+    }
 }
@@ -5,6 +5,9 @@ import com.example.hadilprojectspring.dto.JwtResponse;
 import com.example.hadilprojectspring.entity.User;
 import com.example.hadilprojectspring.entity.UserIdentityAvailability;
 import com.example.hadilprojectspring.entity.UserSummary;
+import com.example.hadilprojectspring.exception.ServiceUnavailableException;
+import com.example.hadilprojectspring.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import com.example.hadilprojectspring.dto.ApiResponse;
 import com.example.hadilprojectspring.dto.LoginRequest;
 import com.example.hadilprojectspring.dto.SignupRequest;
+import com.example.hadilprojectspring.dto.TokenRefreshRequest;
 import com.example.hadilprojectspring.service.AuthService;
 
 @RestController
@@ -33,6 +37,8 @@ public class AuthController {
         try {
             String message = authService.signup(signupRequest);
             return ResponseEntity.ok(new ApiResponse<>(true, message));
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage()));
@@ -43,16 +49,40 @@ public class AuthController {
      * Endpoint de connexion
      */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
         try {
-            JwtResponse jwtResponse = authService.login(loginRequest);
+            JwtResponse jwtResponse = authService.login(loginRequest, request.getRemoteAddr());
             return ResponseEntity.ok(jwtResponse);
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            // Traitées par GlobalExceptionHandler (429 / 503 avec Retry-After)
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, e.getMessage()));
         }
     }
 
+    /**
+     * Endpoint de rafraîchissement : nouvelle paire de tokens, l'ancien jeton de rafraîchissement est consommé
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    /**
+     * Endpoint de déconnexion : révoque le token d'accès courant et le jeton de rafraîchissement
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) TokenRefreshRequest refreshRequest,
+                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Déconnexion réussie"));
+    }
+
     /**
      * Endpoint pour récupérer les informations de l'utilisateur connecté
      */
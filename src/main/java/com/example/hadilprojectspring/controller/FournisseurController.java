@@ -1,20 +1,53 @@
 package com.example.hadilprojectspring.controller;
 
 
+import com.example.hadilprojectspring.config.JacksonConfig;
 import com.example.hadilprojectspring.dto.ApiResponse;
+import com.example.hadilprojectspring.dto.ChangeFeedPage;
+import com.example.hadilprojectspring.dto.CursorPage;
+import com.example.hadilprojectspring.dto.FournisseurChangeDto;
+import com.example.hadilprojectspring.dto.FournisseurImportReport;
 import com.example.hadilprojectspring.dto.FournisseurRequestDto;
 import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.dto.FournisseurStatusUpdateDto;
+import com.example.hadilprojectspring.dto.FournisseurSummaryDto;
+import com.example.hadilprojectspring.dto.PagedResponse;
+import com.example.hadilprojectspring.dto.PagedResponse.TotalKind;
+import com.example.hadilprojectspring.exception.BadRequestException;
+import com.example.hadilprojectspring.exception.PreconditionFailedException;
+import com.example.hadilprojectspring.repository.FournisseurSortField;
+import com.example.hadilprojectspring.repository.MatchMode;
+import com.example.hadilprojectspring.service.FournisseurChangeStreamService;
+import com.example.hadilprojectspring.service.FournisseurExportService;
+import com.example.hadilprojectspring.service.FournisseurExportService.ExportFormat;
+import com.example.hadilprojectspring.service.FournisseurImportService;
+import com.example.hadilprojectspring.service.FournisseurOutboxService;
+import com.example.hadilprojectspring.service.FournisseurResponseCache;
+import com.example.hadilprojectspring.service.FournisseurResponseCache.SerializedResponse;
 import com.example.hadilprojectspring.service.FournisseurService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/fournisseurs")
@@ -22,7 +55,21 @@ import java.util.List;
 @Slf4j
 @CrossOrigin(origins = "*")
 public class FournisseurController {
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    // Représentations de GET /active, par ordre de préférence à qualité égale
+    private static final List<MediaType> ACTIVE_REPRESENTATIONS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, JacksonConfig.APPLICATION_SMILE);
+
     private final FournisseurService fournisseurService;
+    private final FournisseurExportService fournisseurExportService;
+    private final FournisseurImportService fournisseurImportService;
+    private final FournisseurResponseCache fournisseurResponseCache;
+    private final FournisseurOutboxService fournisseurOutboxService;
+    private final FournisseurChangeStreamService fournisseurChangeStreamService;
+
+    // Durée maximale d'un export en streaming
+    @Value("${app.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
 
     @PostMapping
     public ResponseEntity<ApiResponse<FournisseurResponseDto>> createFournisseur(
@@ -40,18 +87,71 @@ public class FournisseurController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<FournisseurImportReport>> importFournisseurs(
+            @RequestBody List<FournisseurRequestDto> requestDtos) {
+
+        log.info("Requête d'import de {} fournisseurs", requestDtos.size());
+
+        FournisseurImportReport report = fournisseurImportService.importFournisseurs(requestDtos);
+
+        ApiResponse<FournisseurImportReport> response = ApiResponse.success(
+                "Import terminé",
+                report
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<FournisseurImportReport>> importFournisseursCsv(
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        log.info("Requête d'import CSV de fournisseurs: {}", file.getOriginalFilename());
+
+        FournisseurImportReport report = fournisseurImportService.importCsv(file.getInputStream());
+
+        ApiResponse<FournisseurImportReport> response = ApiResponse.success(
+                "Import terminé",
+                report
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<FournisseurResponseDto>>> getAllFournisseurs(
+    public ResponseEntity<ApiResponse<PagedResponse<FournisseurResponseDto>>> getAllFournisseurs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "dateCreation") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "exact") String total) {
 
         log.info("Requête de récupération de tous les fournisseurs");
 
-        Page<FournisseurResponseDto> fournisseurs = fournisseurService.getAllFournisseurs(page, size, sortBy, sortDir);
+        PagedResponse<FournisseurResponseDto> fournisseurs = fournisseurService.getAllFournisseurs(
+                page, size, FournisseurSortField.from(sortBy), sortDir, TotalKind.from(total));
+
+        ApiResponse<PagedResponse<FournisseurResponseDto>> response = ApiResponse.success(
+                "Fournisseurs récupérés avec succès",
+                fournisseurs
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<Page<FournisseurSummaryDto>>> getFournisseurSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dateCreation") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Requête de récupération des fournisseurs (résumé)");
+
+        Page<FournisseurSummaryDto> fournisseurs = fournisseurService.getFournisseurSummaries(page, size, FournisseurSortField.from(sortBy), sortDir);
 
-        ApiResponse<Page<FournisseurResponseDto>> response = ApiResponse.success(
+        ApiResponse<Page<FournisseurSummaryDto>> response = ApiResponse.success(
                 "Fournisseurs récupérés avec succès",
                 fournisseurs
         );
@@ -70,17 +170,38 @@ public class FournisseurController {
                 fournisseur
         );
 
-        return ResponseEntity.ok(response);
+        // If-None-Match identique : 304 sans corps (traité par Spring à partir de l'ETag)
+        return ResponseEntity.ok()
+                .eTag(FournisseurResponseCache.etag(fournisseur))
+                .cacheControl(CacheControl.noCache())
+                .body(response);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<FournisseurResponseDto>> updateFournisseur(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody FournisseurRequestDto requestDto) {
 
         log.info("Requête de mise à jour du fournisseur avec ID: {}", id);
 
-        FournisseurResponseDto updatedFournisseur = fournisseurService.updateFournisseur(id, requestDto);
+        // Version attendue : champ version du corps (409 si périmée). À défaut, précondition If-Match
+        // en comparaison forte (412 si elle n'est pas satisfaite)
+        boolean versionFromHeader = requestDto.getVersion() == null && ifMatch != null;
+        if (versionFromHeader) {
+            requestDto.setVersion(versionFromIfMatch(id, ifMatch));
+        }
+
+        FournisseurResponseDto updatedFournisseur;
+        try {
+            updatedFournisseur = fournisseurService.updateFournisseur(id, requestDto);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (!versionFromHeader) {
+                throw e;
+            }
+            throw new PreconditionFailedException("If-Match non satisfait : le fournisseur " + id
+                    + " a été modifié entre-temps");
+        }
 
         ApiResponse<FournisseurResponseDto> response = ApiResponse.success(
                 "Fournisseur mis à jour avec succès",
@@ -115,23 +236,66 @@ public class FournisseurController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<ApiResponse<Integer>> updateFournisseursStatus(
+            @Valid @RequestBody FournisseurStatusUpdateDto statusUpdate) {
+        log.info("Requête de changement de statut en masse: {}", statusUpdate.getActif());
+
+        int updated = fournisseurService.updateFournisseursStatus(statusUpdate);
+
+        ApiResponse<Integer> response = ApiResponse.success(
+                updated + " fournisseur(s) mis à jour",
+                updated
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<Page<FournisseurResponseDto>>> searchFournisseurs(
+    public ResponseEntity<ApiResponse<PagedResponse<FournisseurResponseDto>>> searchFournisseurs(
             @RequestParam(required = false) String matricule,
             @RequestParam(required = false) String raisonSociale,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) Boolean actif,
+            @RequestParam(defaultValue = "contains") String matchMode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "dateCreation") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "exact") String total) {
 
         log.info("Requête de recherche de fournisseurs par critères");
 
-        Page<FournisseurResponseDto> fournisseurs = fournisseurService.searchFournisseurs(
-                matricule, raisonSociale, email, actif, page, size, sortBy, sortDir);
+        PagedResponse<FournisseurResponseDto> fournisseurs = fournisseurService.searchFournisseurs(
+                matricule, raisonSociale, email, actif, MatchMode.from(matchMode), page, size, FournisseurSortField.from(sortBy), sortDir,
+                TotalKind.from(total));
+
+        ApiResponse<PagedResponse<FournisseurResponseDto>> response = ApiResponse.success(
+                "Recherche effectuée avec succès",
+                fournisseurs
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search/summary")
+    public ResponseEntity<ApiResponse<Page<FournisseurSummaryDto>>> searchFournisseurSummaries(
+            @RequestParam(required = false) String matricule,
+            @RequestParam(required = false) String raisonSociale,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean actif,
+            @RequestParam(defaultValue = "contains") String matchMode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dateCreation") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Requête de recherche de fournisseurs (résumé)");
 
-        ApiResponse<Page<FournisseurResponseDto>> response = ApiResponse.success(
+        Page<FournisseurSummaryDto> fournisseurs = fournisseurService.searchFournisseurSummaries(
+                matricule, raisonSociale, email, actif, MatchMode.from(matchMode), page, size, FournisseurSortField.from(sortBy), sortDir);
+
+        ApiResponse<Page<FournisseurSummaryDto>> response = ApiResponse.success(
                 "Recherche effectuée avec succès",
                 fournisseurs
         );
@@ -140,16 +304,78 @@ public class FournisseurController {
     }
 
     @GetMapping("/search/global")
-    public ResponseEntity<ApiResponse<Page<FournisseurResponseDto>>> globalSearch(
+    public ResponseEntity<ApiResponse<PagedResponse<FournisseurResponseDto>>> globalSearch(
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "exact") String total) {
 
         log.info("Requête de recherche globale avec terme: {}", searchTerm);
 
-        Page<FournisseurResponseDto> fournisseurs = fournisseurService.globalSearch(searchTerm, page, size);
+        PagedResponse<FournisseurResponseDto> fournisseurs = fournisseurService.globalSearch(
+                searchTerm, page, size, TotalKind.from(total));
+
+        ApiResponse<PagedResponse<FournisseurResponseDto>> response = ApiResponse.success(
+                "Recherche globale effectuée avec succès",
+                fournisseurs
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<FournisseurResponseDto>>> getFournisseursByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Requête de récupération des fournisseurs par curseur");
+
+        CursorPage<FournisseurResponseDto> fournisseurs = fournisseurService.getFournisseursByCursor(cursor, size, sortDir);
 
-        ApiResponse<Page<FournisseurResponseDto>> response = ApiResponse.success(
+        ApiResponse<CursorPage<FournisseurResponseDto>> response = ApiResponse.success(
+                "Fournisseurs récupérés avec succès",
+                fournisseurs
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<FournisseurResponseDto>>> searchFournisseursByCursor(
+            @RequestParam(required = false) String matricule,
+            @RequestParam(required = false) String raisonSociale,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean actif,
+            @RequestParam(defaultValue = "contains") String matchMode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Requête de recherche de fournisseurs par critères avec curseur");
+
+        CursorPage<FournisseurResponseDto> fournisseurs = fournisseurService.searchFournisseursByCursor(
+                matricule, raisonSociale, email, actif, MatchMode.from(matchMode), cursor, size, sortDir);
+
+        ApiResponse<CursorPage<FournisseurResponseDto>> response = ApiResponse.success(
+                "Recherche effectuée avec succès",
+                fournisseurs
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search/global/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<FournisseurResponseDto>>> globalSearchByCursor(
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        log.info("Requête de recherche globale par curseur avec terme: {}", searchTerm);
+
+        CursorPage<FournisseurResponseDto> fournisseurs = fournisseurService.globalSearchByCursor(searchTerm, cursor, size);
+
+        ApiResponse<CursorPage<FournisseurResponseDto>> response = ApiResponse.success(
                 "Recherche globale effectuée avec succès",
                 fournisseurs
         );
@@ -158,16 +384,178 @@ public class FournisseurController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<FournisseurResponseDto>>> getActiveFournisseurs() {
+    public ResponseEntity<?> getActiveFournisseurs(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("Requête de récupération des fournisseurs actifs");
 
-        List<FournisseurResponseDto> activeFournisseurs = fournisseurService.getActiveFournisseurs();
+        // Clients binaires (CBOR/Smile) : réponse convertie par le convertisseur Jackson correspondant
+        MediaType binaryType = binaryMediaType(accept);
+        if (binaryType != null) {
+            List<FournisseurResponseDto> activeFournisseurs = fournisseurService.getActiveFournisseurs();
+
+            ApiResponse<List<FournisseurResponseDto>> response = ApiResponse.success(
+                    "Fournisseurs actifs récupérés avec succès",
+                    activeFournisseurs
+            );
+
+            return ResponseEntity.ok()
+                    .eTag(FournisseurResponseCache.etag(activeFournisseurs, binaryType))
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(response);
+        }
+
+        // Corps JSON sérialisé une seule fois entre deux écritures
+        SerializedResponse activeFournisseurs = fournisseurResponseCache.getActiveFournisseurs();
+
+        return ResponseEntity.ok()
+                .eTag(activeFournisseurs.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(activeFournisseurs.body());
+    }
+
+    @GetMapping("/active/summary")
+    public ResponseEntity<ApiResponse<List<FournisseurSummaryDto>>> getActiveFournisseurSummaries() {
+        log.info("Requête de récupération des fournisseurs actifs (résumé)");
 
-        ApiResponse<List<FournisseurResponseDto>> response = ApiResponse.success(
+        List<FournisseurSummaryDto> activeFournisseurs = fournisseurService.getActiveFournisseurSummaries();
+
+        ApiResponse<List<FournisseurSummaryDto>> response = ApiResponse.success(
                 "Fournisseurs actifs récupérés avec succès",
                 activeFournisseurs
         );
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<ChangeFeedPage<FournisseurChangeDto>>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        log.info("Requête du flux de changements depuis la séquence {}", since);
+
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new BadRequestException("limit doit être compris entre 1 et " + MAX_CHANGES_LIMIT);
+        }
+
+        ChangeFeedPage<FournisseurChangeDto> changes = fournisseurOutboxService.getChanges(since, limit);
+
+        ApiResponse<ChangeFeedPage<FournisseurChangeDto>> response = ApiResponse.success(
+                "Changements récupérés avec succès",
+                changes
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        // Reprise après coupure (Last-Event-ID), position explicite, sinon seulement les nouveaux changements
+        long position = lastEventId != null ? lastEventId
+                : since != null ? since
+                : fournisseurOutboxService.getLatestSequence();
+        log.info("Requête d'abonnement au flux de changements depuis la séquence {}", position);
+
+        // Position antérieure à la purge : 410 avant l'ouverture du flux
+        fournisseurOutboxService.requireRetained(position);
+
+        return fournisseurChangeStreamService.subscribe(position);
+    }
+
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportFournisseurs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Boolean actif,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse httpResponse) {
+
+        log.info("Requête d'export des fournisseurs au format: {}", format);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+
+        String filename = "fournisseurs." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        httpResponse.setContentType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8");
+        httpResponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        // Le corps est écrit directement dans la réponse au fil de la lecture en base, hors du thread
+        // de la requête. Délai propre à l'export (gros volumes) : les autres requêtes asynchrones
+        // gardent le délai par défaut
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            OutputStream outputStream = httpResponse.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                fournisseurExportService.exportFournisseurs(exportFormat, actif, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                fournisseurExportService.exportFournisseurs(exportFormat, actif, outputStream);
+            }
+            httpResponse.flushBuffer();
+            return null;
+        });
+    }
+
+    // Format binaire préféré d'après l'en-tête Accept (valeurs q comprises), null si JSON convient autant ou mieux
+    private MediaType binaryMediaType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        // JSON en premier : à qualité égale, c'est lui qui est servi
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType representation : ACTIVE_REPRESENTATIONS) {
+            double quality = qualityOf(representation, accepted);
+            if (quality > bestQuality) {
+                best = representation;
+                bestQuality = quality;
+            }
+        }
+        return best == null || best.equals(MediaType.APPLICATION_JSON) ? null : best;
+    }
+
+    // q de la plage la plus spécifique de l'en-tête Accept qui couvre la représentation, 0 si aucune
+    private static double qualityOf(MediaType representation, List<MediaType> accepted) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(representation) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match != null ? match.getQualityValue() : 0;
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+
+    // If-Match de la forme "id-version" ou W/"id-version" (ETag de GET /{id}) ; * : pas de contrôle
+    // If-Match exige une comparaison forte : seul * ou un ETag fort "id-version" peut être satisfait.
+    // Un ETag faible (celui de GET /{id}) ou d'une autre forme ne correspond jamais : 412
+    private static Long versionFromIfMatch(Long id, String ifMatch) {
+        String etag = ifMatch.trim();
+        if ("*".equals(etag)) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("If-Match non satisfait pour le fournisseur " + id + ": " + ifMatch
+                    + " (ETag fort \"" + id + "-<version>\" attendu, ou champ version du corps)");
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match non satisfait pour le fournisseur " + id + ": " + ifMatch);
+        }
+    }
 }
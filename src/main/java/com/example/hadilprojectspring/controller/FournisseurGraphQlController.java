@@ -0,0 +1,107 @@
+package com.example.hadilprojectspring.controller;
+
+import com.example.hadilprojectspring.dto.CursorPage;
+import com.example.hadilprojectspring.dto.FournisseurConnection;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import com.example.hadilprojectspring.entity.User;
+import com.example.hadilprojectspring.exception.BadRequestException;
+import com.example.hadilprojectspring.repository.MatchMode;
+import com.example.hadilprojectspring.service.AuthService;
+import com.example.hadilprojectspring.service.FournisseurCursor;
+import com.example.hadilprojectspring.service.FournisseurService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class FournisseurGraphQlController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int HISTORIQUE_LIMIT = 20;
+
+    // Champs GraphQL du type Fournisseur qui correspondent à une colonne (historique est résolu par lot)
+    private static final Set<String> COLUMNS = Set.of(
+            "id", "matricule", "raisonSociale", "adresse", "codeTva", "email", "telephone1", "telephone2",
+            "fax", "responsableContact", "devise", "observations", "actif", "dateCreation", "dateModification",
+            "version");
+
+    private final FournisseurService fournisseurService;
+    private final AuthService authService;
+
+    @QueryMapping
+    public FournisseurResponseDto fournisseur(@Argument Long id, DataFetchingFieldSelectionSet selection) {
+        log.info("Requête GraphQL fournisseur - ID: {}", id);
+
+        return fournisseurService.getFournisseurColumns(id, columns(selection.getImmediateFields()));
+    }
+
+    @QueryMapping
+    public FournisseurConnection fournisseurs(@Argument int first, @Argument String after,
+                                              @Argument FournisseurFilter filter,
+                                              DataFetchingFieldSelectionSet selection) {
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new BadRequestException("first doit être compris entre 1 et " + MAX_PAGE_SIZE);
+        }
+        log.info("Requête GraphQL fournisseurs - first: {}", first);
+
+        FournisseurFilter criteria = filter != null ? filter : new FournisseurFilter(null, null, null, null, null);
+        CursorPage<FournisseurResponseDto> page = fournisseurService.scrollFournisseurColumns(
+                criteria.matricule(), criteria.raisonSociale(), criteria.email(), criteria.actif(),
+                criteria.matchMode() != null ? criteria.matchMode() : MatchMode.CONTAINS,
+                columns(selection.getFields("edges/node/*")), after, first);
+
+        List<FournisseurConnection.Edge> edges = page.getContent().stream()
+                .map(node -> new FournisseurConnection.Edge(FournisseurCursor.of(node).encode(), node))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor();
+        return new FournisseurConnection(edges, new FournisseurConnection.PageInfo(page.isHasNext(), endCursor));
+    }
+
+    // Historique de tous les fournisseurs de la réponse en une seule requête
+    @BatchMapping(typeName = "Fournisseur", field = "historique")
+    public List<List<FournisseurAudit>> historique(List<FournisseurResponseDto> fournisseurs) {
+        Map<Long, List<FournisseurAudit>> audits = fournisseurService.getLatestAudits(
+                fournisseurs.stream().map(FournisseurResponseDto::getId).distinct().toList(), HISTORIQUE_LIMIT);
+        return fournisseurs.stream()
+                .map(fournisseur -> audits.getOrDefault(fournisseur.getId(), List.of()))
+                .toList();
+    }
+
+    @QueryMapping
+    public User me() {
+        return authService.getCurrentUser();
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public User utilisateur(@Argument Long id) {
+        return authService.getUserById(id);
+    }
+
+    // Colonnes à lire : champs demandés + id et dateCreation (clé de l'historique et du curseur)
+    private static Set<String> columns(List<SelectedField> fields) {
+        Set<String> columns = new LinkedHashSet<>(List.of("id", "dateCreation"));
+        fields.stream()
+                .map(SelectedField::getName)
+                .filter(COLUMNS::contains)
+                .forEach(columns::add);
+        return columns;
+    }
+
+    public record FournisseurFilter(String matricule, String raisonSociale, String email, Boolean actif,
+                                    MatchMode matchMode) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hadilprojectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lot du flux de changements : nextSince est à repasser en ?since= pour obtenir la suite
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeFeedPage<T> {
+    private List<T> changes;
+    private long nextSince;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.example.hadilprojectspring.dto;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrée du flux de changements des fournisseurs ; payload est le JSON stocké, renvoyé tel quel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FournisseurChangeDto {
+    private Long sequence;
+    private Long fournisseurId;
+    private Action action;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime dateAction;
+}
@@ -0,0 +1,15 @@
+package com.example.hadilprojectspring.dto;
+
+import java.util.List;
+
+/**
+ * Connexion GraphQL (arêtes + informations de page) construite à partir d'une page par curseur
+ */
+public record FournisseurConnection(List<Edge> edges, PageInfo pageInfo) {
+
+    public record Edge(String cursor, FournisseurResponseDto node) {
+    }
+
+    public record PageInfo(boolean hasNextPage, String endCursor) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hadilprojectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Résultat d'un import en masse de fournisseurs, avec le détail ligne par ligne
+ */
+@Data
+@NoArgsConstructor
+public class FournisseurImportReport {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResult {
+        private int row;
+        private String matricule;
+        private Status status;
+        private Long id;
+        private List<String> errors;
+    }
+
+    public void addCreated(int row, String matricule, Long id) {
+        rows.add(new RowResult(row, matricule, Status.CREATED, id, List.of()));
+        created++;
+        total++;
+    }
+
+    public void addRejected(int row, String matricule, List<String> errors) {
+        rows.add(new RowResult(row, matricule, Status.REJECTED, null, errors));
+        rejected++;
+        total++;
+    }
+}
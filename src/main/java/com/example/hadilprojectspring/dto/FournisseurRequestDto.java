@@ -48,4 +48,9 @@ public class FournisseurRequestDto {
     private String observations;
 
     private Boolean actif = true;
+
+    // Version lue par le client (champ version de GET /{id}) : mécanisme de contrôle de concurrence des
+    // mises à jour, refusées (409) si le fournisseur a changé depuis. L'ETag de GET /{id} est faible (cache)
+    // et ne peut pas servir de précondition If-Match
+    private Long version;
 }
@@ -20,4 +20,5 @@ public class FournisseurResponseDto {
     private Boolean actif;
     private LocalDateTime dateCreation;
     private LocalDateTime dateModification;
+    private Long version;
 }
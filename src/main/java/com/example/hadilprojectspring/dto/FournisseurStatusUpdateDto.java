@@ -0,0 +1,24 @@
+package com.example.hadilprojectspring.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Activation/désactivation en masse : par liste d'identifiants, ou à défaut par critères
+@Data
+public class FournisseurStatusUpdateDto {
+    @NotNull(message = "Le statut cible est obligatoire")
+    private Boolean actif;
+
+    @Size(max = 1000, message = "Pas plus de 1000 identifiants par requête")
+    private List<Long> ids;
+
+    private String matricule;
+    private String raisonSociale;
+    private String email;
+
+    // Comparaison des critères : exact, prefix ou contains (défaut)
+    private String matchMode;
+}
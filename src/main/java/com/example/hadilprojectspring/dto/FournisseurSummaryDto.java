@@ -0,0 +1,26 @@
+package com.example.hadilprojectspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue résumée d'un fournisseur pour les listes : seulement les colonnes affichées,
+ * sans adresse ni observations. Construite directement par la requête JPQL (sans entité gérée).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FournisseurSummaryDto {
+    private Long id;
+    private String matricule;
+    private String raisonSociale;
+    private String email;
+    private String telephone1;
+    private String responsableContact;
+    private String devise;
+    private Boolean actif;
+    private LocalDateTime dateCreation;
+}
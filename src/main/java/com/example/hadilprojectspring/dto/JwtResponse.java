@@ -2,7 +2,10 @@ package com.example.hadilprojectspring.dto;
 
 public class JwtResponse {
     private String accessToken;
+    private String refreshToken;
     private String tokenType = "Bearer";
+    // Durée de validité du token d'accès, en secondes
+    private long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -17,10 +20,22 @@ public class JwtResponse {
         this.email = email;
     }
 
+    public JwtResponse(String accessToken, String refreshToken, long expiresIn, Long id, String username, String email) {
+        this(accessToken, id, username, email);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     // Getters et Setters
     public String getAccessToken() { return accessToken; }
     public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+
     public String getTokenType() { return tokenType; }
     public void setTokenType(String tokenType) { this.tokenType = tokenType; }
 
@@ -0,0 +1,66 @@
+package com.example.hadilprojectspring.dto;
+
+import com.example.hadilprojectspring.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Page de résultats dont le total est optionnel : totalKind indique s'il est exact, issu du cache,
+ * estimé par les statistiques du planificateur ou absent. Mêmes noms de champs que Page pour le reste.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PagedResponse<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+    private boolean first;
+    private boolean last;
+    private Long totalElements;
+    private Integer totalPages;
+    private TotalKind totalKind;
+
+    public enum TotalKind {
+        EXACT,
+        CACHED,
+        ESTIMATED,
+        NONE;
+
+        public static TotalKind from(String value) {
+            for (TotalKind kind : values()) {
+                if (kind.name().equalsIgnoreCase(value)) {
+                    return kind;
+                }
+            }
+            throw new BadRequestException("Mode de total non supporté: " + value
+                    + " (exact, cached, estimated ou none)");
+        }
+    }
+
+    public static <T> PagedResponse<T> of(Page<T> page) {
+        return new PagedResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.getNumberOfElements(),
+                page.isFirst(), page.isLast(), page.getTotalElements(), page.getTotalPages(), TotalKind.EXACT);
+    }
+
+    public static <T> PagedResponse<T> of(Slice<T> slice, TotalKind totalKind, Long total) {
+        Long totalElements = total;
+        Integer totalPages = null;
+        if (total != null) {
+            // Un total approché ne doit pas contredire la page effectivement lue
+            long seen = slice.getPageable().isPaged()
+                    ? slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                    : slice.getNumberOfElements();
+            totalElements = Math.max(total, seen);
+            totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        }
+        return new PagedResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.getNumberOfElements(),
+                slice.isFirst(), slice.isLast(), totalElements, totalPages, totalKind);
+    }
+}
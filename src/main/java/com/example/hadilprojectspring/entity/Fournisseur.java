@@ -13,19 +13,28 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fournisseurs")
+@Table(name = "fournisseurs", uniqueConstraints = {
+        @UniqueConstraint(name = Fournisseur.UK_MATRICULE, columnNames = "matricule"),
+        @UniqueConstraint(name = Fournisseur.UK_EMAIL, columnNames = "email")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Fournisseur {
 
+    // Noms des contraintes d'unicité, utilisés pour identifier le champ en conflit
+    public static final String UK_MATRICULE = "uk_fournisseurs_matricule";
+    public static final String UK_EMAIL = "uk_fournisseurs_email";
+
+    // Séquence à allocation groupée : permet le batching JDBC des insertions (voir schema.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fournisseurs_seq")
+    @SequenceGenerator(name = "fournisseurs_seq", sequenceName = "fournisseurs_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le matricule est obligatoire")
     @Size(max = 50, message = "Le matricule ne doit pas dépasser 50 caractères")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String matricule;
 
     @NotBlank(message = "La raison sociale est obligatoire")
@@ -75,6 +84,11 @@ public class Fournisseur {
     @Column(name = "actif", nullable = false)
     private Boolean actif = true;
 
+    // Verrouillage optimiste : une mise à jour concurrente échoue au lieu d'écraser silencieusement
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "date_creation", nullable = false, updatable = false)
     private LocalDateTime dateCreation;
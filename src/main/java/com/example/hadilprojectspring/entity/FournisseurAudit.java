@@ -0,0 +1,56 @@
+package com.example.hadilprojectspring.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+// Journal des modifications des fournisseurs (ajout seulement) : qui, quoi, quand, valeurs avant/après
+@Entity
+@Table(name = "fournisseur_audit", indexes = {
+        @Index(name = "idx_fournisseur_audit_fournisseur", columnList = "fournisseur_id, date_action")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FournisseurAudit {
+
+    // Séquence à allocation groupée : les écritures du journal sont insérées par lots JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fournisseur_audit_seq")
+    @SequenceGenerator(name = "fournisseur_audit_seq", sequenceName = "fournisseur_audit_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "fournisseur_id", nullable = false, updatable = false)
+    private Long fournisseurId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private Action action;
+
+    @Column(name = "utilisateur", updatable = false)
+    private String utilisateur;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "valeur_avant", updatable = false)
+    private String valeurAvant;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "valeur_apres", updatable = false)
+    private String valeurApres;
+
+    @Column(name = "date_action", nullable = false, updatable = false)
+    private LocalDateTime dateAction;
+
+    public enum Action {
+        CREATION,
+        MODIFICATION,
+        SUPPRESSION,
+        CHANGEMENT_STATUT,
+        IMPORT
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hadilprojectspring.entity;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+// Boîte d'envoi des modifications de fournisseurs, écrite dans la transaction de la modification.
+// L'identifiant sert de numéro de séquence au flux de changements (?since=).
+@Entity
+@Table(name = "fournisseur_outbox", indexes = {
+        @Index(name = "idx_fournisseur_outbox_date_action", columnList = "date_action")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FournisseurOutbox {
+
+    // IDENTITY : numéro attribué à l'insertion, sous le verrou qui ordonne les écritures (voir FournisseurOutboxService)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "fournisseur_id", nullable = false, updatable = false)
+    private Long fournisseurId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private Action action;
+
+    // État après modification (null pour une suppression)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(updatable = false)
+    private String payload;
+
+    @Column(name = "date_action", nullable = false, updatable = false)
+    private LocalDateTime dateAction;
+}
@@ -0,0 +1,51 @@
+package com.example.hadilprojectspring.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Jeton de rafraîchissement à usage unique : seul son empreinte SHA-256 est stockée.
+// Tous les jetons issus d'une même connexion partagent une famille, révoquée en bloc en cas de réutilisation.
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, updatable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, updatable = false, length = 50)
+    private String username;
+
+    @Column(name = "family_id", nullable = false, updatable = false, length = 36)
+    private String familyId;
+
+    // Token d'accès émis avec ce jeton : révoqué avec la famille
+    @Column(name = "access_token_jti", nullable = false, updatable = false, length = 36)
+    private String accessTokenJti;
+
+    @Column(name = "access_expires_at", nullable = false, updatable = false)
+    private LocalDateTime accessExpiresAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Renseigné à l'utilisation (rotation), à la déconnexion ou à la révocation de la famille
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.hadilprojectspring.entity;
 
+import com.example.hadilprojectspring.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +14,7 @@ import java.util.Collection;
 import java.util.Collections;
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User implements UserDetails{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,15 @@
+package com.example.hadilprojectspring.exception;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+    // Plus petite position encore servie : les changements de séquence supérieure sont conservés
+    private final long oldestSequence;
+
+    public ChangeFeedExpiredException(String message, long oldestSequence) {
+        super(message);
+        this.oldestSequence = oldestSequence;
+    }
+
+    public long getOldestSequence() {
+        return oldestSequence;
+    }
+}
@@ -1,7 +1,19 @@
 package com.example.hadilprojectspring.exception;
 
 public class DuplicateResourceException extends RuntimeException {
+    // Champ en conflit (matricule, email...), null s'il n'est pas connu
+    private final String field;
+
     public DuplicateResourceException(String message) {
+        this(null, message);
+    }
+
+    public DuplicateResourceException(String field, String message) {
         super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.example.hadilprojectspring.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    // Délai conseillé au client avant de réessayer (en-tête Retry-After)
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
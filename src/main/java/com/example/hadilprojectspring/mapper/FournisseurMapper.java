@@ -0,0 +1,64 @@
+package com.example.hadilprojectspring.mapper;
+
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import org.springframework.stereotype.Component;
+
+// Conversions entre l'entité Fournisseur et ses DTOs
+@Component
+public class FournisseurMapper {
+
+    public Fournisseur mapToEntity(FournisseurRequestDto requestDto) {
+        Fournisseur fournisseur = new Fournisseur();
+        fournisseur.setMatricule(requestDto.getMatricule());
+        fournisseur.setRaisonSociale(requestDto.getRaisonSociale());
+        fournisseur.setAdresse(requestDto.getAdresse());
+        fournisseur.setCodeTva(requestDto.getCodeTva());
+        fournisseur.setEmail(requestDto.getEmail());
+        fournisseur.setTelephone1(requestDto.getTelephone1());
+        fournisseur.setTelephone2(requestDto.getTelephone2());
+        fournisseur.setFax(requestDto.getFax());
+        fournisseur.setResponsableContact(requestDto.getResponsableContact());
+        fournisseur.setDevise(requestDto.getDevise());
+        fournisseur.setObservations(requestDto.getObservations());
+        fournisseur.setActif(requestDto.getActif());
+        return fournisseur;
+    }
+
+    public FournisseurResponseDto mapToResponseDto(Fournisseur fournisseur) {
+        FournisseurResponseDto responseDto = new FournisseurResponseDto();
+        responseDto.setId(fournisseur.getId());
+        responseDto.setMatricule(fournisseur.getMatricule());
+        responseDto.setRaisonSociale(fournisseur.getRaisonSociale());
+        responseDto.setAdresse(fournisseur.getAdresse());
+        responseDto.setCodeTva(fournisseur.getCodeTva());
+        responseDto.setEmail(fournisseur.getEmail());
+        responseDto.setTelephone1(fournisseur.getTelephone1());
+        responseDto.setTelephone2(fournisseur.getTelephone2());
+        responseDto.setFax(fournisseur.getFax());
+        responseDto.setResponsableContact(fournisseur.getResponsableContact());
+        responseDto.setDevise(fournisseur.getDevise());
+        responseDto.setObservations(fournisseur.getObservations());
+        responseDto.setActif(fournisseur.getActif());
+        responseDto.setDateCreation(fournisseur.getDateCreation());
+        responseDto.setDateModification(fournisseur.getDateModification());
+        responseDto.setVersion(fournisseur.getVersion());
+        return responseDto;
+    }
+
+    public void updateFournisseurFields(Fournisseur existingFournisseur, FournisseurRequestDto requestDto) {
+        existingFournisseur.setMatricule(requestDto.getMatricule());
+        existingFournisseur.setRaisonSociale(requestDto.getRaisonSociale());
+        existingFournisseur.setAdresse(requestDto.getAdresse());
+        existingFournisseur.setCodeTva(requestDto.getCodeTva());
+        existingFournisseur.setEmail(requestDto.getEmail());
+        existingFournisseur.setTelephone1(requestDto.getTelephone1());
+        existingFournisseur.setTelephone2(requestDto.getTelephone2());
+        existingFournisseur.setFax(requestDto.getFax());
+        existingFournisseur.setResponsableContact(requestDto.getResponsableContact());
+        existingFournisseur.setDevise(requestDto.getDevise());
+        existingFournisseur.setObservations(requestDto.getObservations());
+        existingFournisseur.setActif(requestDto.getActif());
+    }
+}
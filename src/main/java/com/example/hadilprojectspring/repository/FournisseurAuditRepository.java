@@ -0,0 +1,49 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FournisseurAuditRepository extends JpaRepository<FournisseurAudit, Long> {
+
+    // Historique d'un fournisseur, du plus récent au plus ancien
+    List<FournisseurAudit> findByFournisseurIdOrderByDateActionDescIdDesc(Long fournisseurId);
+
+    // Les `limit` entrées les plus récentes de chaque fournisseur en une seule requête (chargement par lot GraphQL)
+    @Query(value = "SELECT a.id, a.fournisseur_id, a.action, a.utilisateur, a.valeur_avant, a.valeur_apres, a.date_action " +
+            "FROM (SELECT fa.*, row_number() OVER (PARTITION BY fa.fournisseur_id ORDER BY fa.date_action DESC, fa.id DESC) AS rang " +
+            "      FROM fournisseur_audit fa WHERE fa.fournisseur_id IN (:fournisseurIds)) a " +
+            "WHERE a.rang <= :limit " +
+            "ORDER BY a.fournisseur_id, a.date_action DESC, a.id DESC",
+            nativeQuery = true)
+    List<FournisseurAudit> findLatestByFournisseurIds(@Param("fournisseurIds") Collection<Long> fournisseurIds,
+                                                      @Param("limit") int limit);
+
+    // Une entrée par fournisseur du lot, en une instruction. Chaque nextval réserve un bloc entier
+    // de l'optimiseur pooled d'Hibernate (allocationSize 50) : pas de collision avec les identifiants qu'il attribue.
+    // valeursAvant/valeursApres : tableaux JSON alignés sur les identifiants (un élément null donne une valeur NULL)
+    @Modifying
+    @Query(value = "INSERT INTO fournisseur_audit (id, fournisseur_id, action, utilisateur, valeur_avant, valeur_apres, date_action) " +
+            "SELECT nextval('fournisseur_audit_seq'), t.id, CAST(:action AS text), CAST(:utilisateur AS text), " +
+            "NULLIF(av.value, CAST('null' AS jsonb)), NULLIF(ap.value, CAST('null' AS jsonb)), :dateAction " +
+            "FROM unnest(CAST(:ids AS bigint[])) WITH ORDINALITY AS t(id, position) " +
+            "JOIN jsonb_array_elements(CAST(:valeursAvant AS jsonb)) WITH ORDINALITY AS av(value, position) " +
+            "ON av.position = t.position " +
+            "JOIN jsonb_array_elements(CAST(:valeursApres AS jsonb)) WITH ORDINALITY AS ap(value, position) " +
+            "ON ap.position = t.position",
+            nativeQuery = true)
+    int insertBulk(@Param("ids") String idsArrayLiteral,
+                   @Param("action") String action,
+                   @Param("utilisateur") String utilisateur,
+                   @Param("valeursAvant") String valeursAvant,
+                   @Param("valeursApres") String valeursApres,
+                   @Param("dateAction") LocalDateTime dateAction);
+}
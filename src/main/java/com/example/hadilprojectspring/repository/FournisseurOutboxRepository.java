@@ -0,0 +1,56 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.entity.FournisseurOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FournisseurOutboxRepository extends JpaRepository<FournisseurOutbox, Long> {
+
+    // Changements postérieurs à un numéro de séquence, dans l'ordre
+    List<FournisseurOutbox> findByIdGreaterThanOrderByIdAsc(Long since, Limit limit);
+
+    // Dernier numéro de séquence écrit (null si la boîte d'envoi est vide)
+    @Query("SELECT max(o.id) FROM FournisseurOutbox o")
+    Long findLatestSequence();
+
+    // Une ligne par fournisseur du lot, en une instruction, dans l'ordre des identifiants fournis.
+    // payloads : tableau JSON aligné sur les identifiants (un élément null donne un payload NULL)
+    @Modifying
+    @Query(value = "INSERT INTO fournisseur_outbox (fournisseur_id, action, payload, date_action) " +
+            "SELECT t.id, CAST(:action AS text), NULLIF(p.value, CAST('null' AS jsonb)), :dateAction " +
+            "FROM unnest(CAST(:ids AS bigint[])) WITH ORDINALITY AS t(id, position) " +
+            "JOIN jsonb_array_elements(CAST(:payloads AS jsonb)) WITH ORDINALITY AS p(value, position) " +
+            "ON p.position = t.position " +
+            "ORDER BY t.position",
+            nativeQuery = true)
+    int insertBulk(@Param("ids") String idsArrayLiteral,
+                   @Param("action") String action,
+                   @Param("payloads") String payloads,
+                   @Param("dateAction") LocalDateTime dateAction);
+
+    // Dernier numéro de séquence d'un changement antérieur à une date (borne de purge)
+    @Query("SELECT max(o.id) FROM FournisseurOutbox o WHERE o.dateAction < :before")
+    Long findLatestSequenceBefore(@Param("before") LocalDateTime before);
+
+    // Purge des changements jusqu'à un numéro de séquence inclus
+    @Modifying
+    @Query("DELETE FROM FournisseurOutbox o WHERE o.id <= :sequence")
+    int deleteUpTo(@Param("sequence") Long sequence);
+
+    // Dernier numéro de séquence purgé : un consommateur resté avant a perdu des changements
+    @Query(value = "SELECT purged_through FROM fournisseur_outbox_horizon WHERE id = 1", nativeQuery = true)
+    Long findPurgedThrough();
+
+    @Modifying
+    @Query(value = "UPDATE fournisseur_outbox_horizon SET purged_through = GREATEST(purged_through, :sequence) WHERE id = 1",
+            nativeQuery = true)
+    int advancePurgedThrough(@Param("sequence") Long sequence);
+}
@@ -2,28 +2,40 @@ package com.example.hadilprojectspring.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import com.example.hadilprojectspring.dto.FournisseurSummaryDto;
 import com.example.hadilprojectspring.entity.Fournisseur;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FournisseurRepository extends JpaRepository<Fournisseur, Long> {
-    // Vérifier l'existence par matricule
-    boolean existsByMatricule(String matricule);
+public interface FournisseurRepository extends JpaRepository<Fournisseur, Long>, JpaSpecificationExecutor<Fournisseur>,
+        FournisseurRepositoryCustom {
+    // Document de recherche normalisé, identique à l'expression indexée dans schema.sql
+    String SEARCH_DOCUMENT =
+            "fournisseur_search_document(f.matricule, f.raison_sociale, f.email, f.responsable_contact)";
 
-    // Vérifier l'existence par email
-    boolean existsByEmail(String email);
+    // Expression de constructeur de la vue résumée (colonnes des listes uniquement)
+    String SUMMARY_SELECT = "SELECT new com.example.hadilprojectspring.dto.FournisseurSummaryDto(" +
+            "f.id, f.matricule, f.raisonSociale, f.email, f.telephone1, f.responsableContact, " +
+            "f.devise, f.actif, f.dateCreation) FROM Fournisseur f";
 
-    // Vérifier l'existence par matricule excluant un ID spécifique (pour la mise à jour)
-    boolean existsByMatriculeAndIdNot(String matricule, Long id);
-
-    // Vérifier l'existence par email excluant un ID spécifique (pour la mise à jour)
-    boolean existsByEmailAndIdNot(String email, Long id);
+    // Matricules et emails déjà utilisés parmi ceux fournis (contrôle d'unicité d'un lot d'import en une requête)
+    @Query("SELECT f.matricule AS matricule, f.email AS email FROM Fournisseur f " +
+            "WHERE f.matricule IN :matricules OR f.email IN :emails")
+    List<UniqueKeys> findExistingKeys(@Param("matricules") Collection<String> matricules,
+                                      @Param("emails") Collection<String> emails);
 
     // Trouver par matricule
     Optional<Fournisseur> findByMatricule(String matricule);
@@ -34,25 +46,87 @@ public interface FournisseurRepository extends JpaRepository<Fournisseur, Long>
     // Trouver tous les fournisseurs inactifs
     List<Fournisseur> findByActifFalse();
 
-    // Recherche par critères avec pagination
-    @Query("SELECT f FROM Fournisseur f WHERE " +
-            "(:matricule IS NULL OR LOWER(f.matricule) LIKE LOWER(CONCAT('%', :matricule, '%'))) AND " +
-            "(:raisonSociale IS NULL OR LOWER(f.raisonSociale) LIKE LOWER(CONCAT('%', :raisonSociale, '%'))) AND " +
-            "(:email IS NULL OR LOWER(f.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-            "(:actif IS NULL OR f.actif = :actif)")
-    Page<Fournisseur> findByCriteria(
-            @Param("matricule") String matricule,
-            @Param("raisonSociale") String raisonSociale,
-            @Param("email") String email,
-            @Param("actif") Boolean actif,
-            Pageable pageable
-    );
-
-    // Recherche globale
-    @Query("SELECT f FROM Fournisseur f WHERE " +
-            "LOWER(f.matricule) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(f.raisonSociale) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(f.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(f.responsableContact) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Fournisseur> findByGlobalSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // Fournisseurs actifs en vue résumée
+    @Query(SUMMARY_SELECT + " WHERE f.actif = true ORDER BY f.raisonSociale, f.id")
+    List<FournisseurSummaryDto> findActiveSummaries();
+
+    // Parcours en flux pour l'export : curseur JDBC lu par lots, entités en lecture seule.
+    // Ordre par défaut des listes, lu à rebours dans idx_fournisseurs_date_creation_id
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Fournisseur f ORDER BY f.dateCreation DESC, f.id DESC")
+    Stream<Fournisseur> streamForExport();
+
+    // Export filtré sur le statut : requête distincte plutôt que (:actif IS NULL OR f.actif = :actif),
+    // pour que le plan parcoure idx_fournisseurs_actif_date_creation dans l'ordre, sans tri
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Fournisseur f WHERE f.actif = :actif ORDER BY f.dateCreation DESC, f.id DESC")
+    Stream<Fournisseur> streamForExportByActif(@Param("actif") boolean actif);
+
+    // Bascule du statut en une seule instruction, la ligne mise à jour étant renvoyée par RETURNING
+    @Query(value = "UPDATE fournisseurs SET actif = NOT actif, version = version + 1, " +
+            "date_modification = LOCALTIMESTAMP WHERE id = :id RETURNING *",
+            nativeQuery = true)
+    Optional<Fournisseur> toggleActif(@Param("id") Long id);
+
+    // Changement de statut en masse par identifiants (les lignes déjà au bon statut ne sont pas touchées),
+    // en une instruction qui renvoie les identifiants modifiés
+    @Query(value = "UPDATE fournisseurs SET actif = :actif, version = version + 1, " +
+            "date_modification = LOCALTIMESTAMP WHERE id IN (:ids) AND actif <> :actif RETURNING id",
+            nativeQuery = true)
+    List<Long> updateActifByIds(@Param("ids") Collection<Long> ids, @Param("actif") boolean actif);
+
+    // Changement de statut en masse par critères : motifs LIKE déjà échappés et en minuscules
+    // (FournisseurSpecifications.likePattern), mêmes comparaisons que la recherche par critères
+    @Query(value = "UPDATE fournisseurs SET actif = :actif, version = version + 1, " +
+            "date_modification = LOCALTIMESTAMP WHERE actif <> :actif AND " +
+            "(CAST(:matricule AS text) IS NULL OR lower(matricule) LIKE CAST(:matricule AS text) ESCAPE '\\') AND " +
+            "(CAST(:raisonSociale AS text) IS NULL OR lower(raison_sociale) LIKE CAST(:raisonSociale AS text) ESCAPE '\\') AND " +
+            "(CAST(:email AS text) IS NULL OR lower(email) LIKE CAST(:email AS text) ESCAPE '\\') RETURNING id",
+            nativeQuery = true)
+    List<Long> updateActifByCriteria(@Param("matricule") String matriculePattern,
+                                     @Param("raisonSociale") String raisonSocialePattern,
+                                     @Param("email") String emailPattern,
+                                     @Param("actif") boolean actif);
+
+    // Recherche globale classée par pertinence, insensible à la casse et aux accents.
+    // S'appuie sur l'index trigramme idx_fournisseurs_search_trgm (voir schema.sql).
+    @Query(value = "SELECT f.* FROM fournisseurs f " +
+            "WHERE " + SEARCH_DOCUMENT + " LIKE '%' || f_unaccent(lower(:pattern)) || '%' " +
+            "ORDER BY word_similarity(f_unaccent(lower(:searchTerm)), " + SEARCH_DOCUMENT + ") DESC, " +
+            "f.date_creation DESC, f.id DESC",
+            countQuery = "SELECT count(*) FROM fournisseurs f " +
+                    "WHERE " + SEARCH_DOCUMENT + " LIKE '%' || f_unaccent(lower(:pattern)) || '%'",
+            nativeQuery = true)
+    Page<Fournisseur> findByGlobalSearch(@Param("searchTerm") String searchTerm,
+                                         @Param("pattern") String pattern,
+                                         Pageable pageable);
+
+    // Recherche globale sans requête COUNT (mêmes critères et ordre que findByGlobalSearch)
+    @Query(value = "SELECT f.* FROM fournisseurs f " +
+            "WHERE " + SEARCH_DOCUMENT + " LIKE '%' || f_unaccent(lower(:pattern)) || '%' " +
+            "ORDER BY word_similarity(f_unaccent(lower(:searchTerm)), " + SEARCH_DOCUMENT + ") DESC, " +
+            "f.date_creation DESC, f.id DESC",
+            nativeQuery = true)
+    Slice<Fournisseur> findGlobalSearchSlice(@Param("searchTerm") String searchTerm,
+                                             @Param("pattern") String pattern,
+                                             Pageable pageable);
+
+    // Nombre exact de résultats de la recherche globale
+    @Query(value = "SELECT count(*) FROM fournisseurs f " +
+            "WHERE " + SEARCH_DOCUMENT + " LIKE '%' || f_unaccent(lower(:pattern)) || '%'",
+            nativeQuery = true)
+    long countGlobalSearch(@Param("pattern") String pattern);
+
+    // Projection des colonnes uniques d'un fournisseur
+    interface UniqueKeys {
+        String getMatricule();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.dto.FournisseurSummaryDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public interface FournisseurRepositoryCustom {
+
+    // Recherche par spécification sans requête COUNT : lit size + 1 lignes pour savoir s'il reste une page
+    Slice<Fournisseur> findSlice(Specification<Fournisseur> specification, Pageable pageable);
+
+    // Recherche par spécification projetée en vue résumée (sans entités gérées)
+    Page<FournisseurSummaryDto> findSummaries(Specification<Fournisseur> specification, Pageable pageable);
+
+    // Recherche par spécification ne lisant que les attributs demandés : les autres propriétés du DTO restent nulles
+    Slice<FournisseurResponseDto> findColumns(Specification<Fournisseur> specification,
+                                              Collection<String> attributes, Pageable pageable);
+
+    // Nombre de lignes estimé par les statistiques de la table (pg_class.reltuples), null si jamais analysée
+    Long estimateCount();
+
+    // Nombre de résultats de la recherche globale estimé par le planificateur (EXPLAIN), sans exécuter la requête
+    Long estimateGlobalSearchCount(String pattern);
+}
@@ -0,0 +1,157 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.dto.FournisseurSummaryDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class FournisseurRepositoryImpl implements FournisseurRepositoryCustom {
+
+    // Nombre de lignes estimé du nœud racine d'un plan EXPLAIN au format texte
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Fournisseur> findSlice(Specification<Fournisseur> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Fournisseur> query = cb.createQuery(Fournisseur.class);
+        Root<Fournisseur> root = query.from(Fournisseur.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Fournisseur> results = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > pageable.getPageSize();
+        List<Fournisseur> content = hasNext ? results.subList(0, pageable.getPageSize()) : results;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public Page<FournisseurSummaryDto> findSummaries(Specification<Fournisseur> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FournisseurSummaryDto> query = cb.createQuery(FournisseurSummaryDto.class);
+        Root<Fournisseur> root = query.from(Fournisseur.class);
+
+        query.select(cb.construct(FournisseurSummaryDto.class,
+                root.get("id"), root.get("matricule"), root.get("raisonSociale"), root.get("email"),
+                root.get("telephone1"), root.get("responsableContact"), root.get("devise"),
+                root.get("actif"), root.get("dateCreation")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<FournisseurSummaryDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Le COUNT n'est exécuté que si la page ne permet pas de déduire le total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<FournisseurResponseDto> findColumns(Specification<Fournisseur> specification,
+                                                     Collection<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Fournisseur> root = query.from(Fournisseur.class);
+
+        query.multiselect(attributes.stream()
+                .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+                .toList());
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> results = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > pageable.getPageSize();
+        List<FournisseurResponseDto> content = (hasNext ? results.subList(0, pageable.getPageSize()) : results)
+                .stream()
+                .map(tuple -> toResponseDto(tuple, attributes))
+                .toList();
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public Long estimateCount() {
+        Number reltuples = (Number) entityManager.createNativeQuery(
+                        "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('fournisseurs')", Long.class)
+                .getSingleResult();
+        return reltuples == null || reltuples.longValue() < 0 ? null : reltuples.longValue();
+    }
+
+    @Override
+    public Long estimateGlobalSearchCount(String pattern) {
+        List<?> plan = entityManager.createNativeQuery(
+                        "EXPLAIN SELECT 1 FROM fournisseurs f WHERE " + FournisseurRepository.SEARCH_DOCUMENT +
+                                " LIKE '%' || f_unaccent(lower(:pattern)) || '%'", String.class)
+                .setParameter("pattern", pattern)
+                .getResultList();
+        if (plan.isEmpty()) {
+            return null;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(plan.get(0).toString());
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    // Les noms des attributs de l'entité et des propriétés du DTO sont identiques
+    private static FournisseurResponseDto toResponseDto(Tuple tuple, Collection<String> attributes) {
+        FournisseurResponseDto responseDto = new FournisseurResponseDto();
+        BeanWrapper wrapper = new BeanWrapperImpl(responseDto);
+        for (String attribute : attributes) {
+            wrapper.setPropertyValue(attribute, tuple.get(attribute));
+        }
+        return responseDto;
+    }
+
+    private long count(Specification<Fournisseur> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Fournisseur> root = query.from(Fournisseur.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
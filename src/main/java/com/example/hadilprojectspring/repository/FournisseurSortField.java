@@ -0,0 +1,40 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+// Champs de tri autorisés pour les listes de fournisseurs, chacun servi par un index (voir schema.sql).
+// Les champs non uniques sont départagés par l'id pour un ordre stable, couvert par le même index composite.
+public enum FournisseurSortField {
+    DATE_CREATION("dateCreation", false),
+    RAISON_SOCIALE("raisonSociale", false),
+    MATRICULE("matricule", true),
+    EMAIL("email", true);
+
+    private final String property;
+    private final boolean unique;
+
+    FournisseurSortField(String property, boolean unique) {
+        this.property = property;
+        this.unique = unique;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return unique ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    public static FournisseurSortField from(String property) {
+        for (FournisseurSortField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Tri non supporté: " + property
+                + " (dateCreation, raisonSociale, matricule ou email)");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.entity.Fournisseur;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FournisseurSpecifications {
+
+    private FournisseurSpecifications() {
+    }
+
+    // Aucun filtre
+    public static Specification<Fournisseur> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    // Fournisseur d'identifiant donné
+    public static Specification<Fournisseur> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    // Critères de recherche : seuls les critères renseignés produisent un prédicat,
+    // pour que PostgreSQL choisisse un plan (et un index) adapté à chaque combinaison
+    public static Specification<Fournisseur> matchesCriteria(String matricule, String raisonSociale,
+                                                             String email, Boolean actif, MatchMode matchMode) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(matricule)) {
+                predicates.add(matches(cb, root.get("matricule"), matricule, matchMode));
+            }
+            if (hasText(raisonSociale)) {
+                predicates.add(matches(cb, root.get("raisonSociale"), raisonSociale, matchMode));
+            }
+            if (hasText(email)) {
+                predicates.add(matches(cb, root.get("email"), email, matchMode));
+            }
+            if (actif != null) {
+                predicates.add(cb.equal(root.get("actif"), actif));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Même prédicat que FournisseurRepository.findByGlobalSearch (pattern LIKE déjà échappé)
+    public static Specification<Fournisseur> globalSearch(String pattern) {
+        return (root, query, cb) -> {
+            Expression<String> document = cb.function("fournisseur_search_document", String.class,
+                    root.get("matricule"), root.get("raisonSociale"), root.get("email"), root.get("responsableContact"));
+            Expression<String> normalizedPattern = cb.function("f_unaccent", String.class,
+                    cb.lower(cb.literal("%" + pattern + "%")));
+            return cb.like(document, normalizedPattern, '\\');
+        };
+    }
+
+    // Échappe les jokers LIKE (%, _) et le caractère d'échappement
+    public static String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // Éléments situés après la position (dateCreation, id) dans l'ordre de tri donné
+    public static Specification<Fournisseur> after(LocalDateTime lastDateCreation, Long lastId,
+                                                   Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> dateCreation = root.get("dateCreation");
+            Expression<Long> id = root.get("id");
+            if (direction.isDescending()) {
+                return cb.or(
+                        cb.lessThan(dateCreation, lastDateCreation),
+                        cb.and(cb.equal(dateCreation, lastDateCreation), cb.lessThan(id, lastId)));
+            }
+            return cb.or(
+                    cb.greaterThan(dateCreation, lastDateCreation),
+                    cb.and(cb.equal(dateCreation, lastDateCreation), cb.greaterThan(id, lastId)));
+        };
+    }
+
+    // Motif LIKE (échappé, en minuscules) équivalent au mode de comparaison, pour les requêtes natives (ESCAPE '\')
+    public static String likePattern(String value, MatchMode matchMode) {
+        String escaped = escapeLikePattern(value.trim().toLowerCase());
+        return switch (matchMode) {
+            case EXACT -> escaped;
+            case PREFIX -> escaped + "%";
+            case CONTAINS -> "%" + escaped + "%";
+        };
+    }
+
+    // Comparaison de lower(colonne) avec la valeur : égalité, préfixe ou sous-chaîne
+    private static Predicate matches(CriteriaBuilder cb, Expression<String> column, String value, MatchMode matchMode) {
+        Expression<String> lowerColumn = cb.lower(column);
+        if (matchMode == MatchMode.EXACT) {
+            return cb.equal(lowerColumn, value.trim().toLowerCase());
+        }
+        return cb.like(lowerColumn, likePattern(value, matchMode), '\\');
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
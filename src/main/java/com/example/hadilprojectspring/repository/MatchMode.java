@@ -0,0 +1,20 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.exception.BadRequestException;
+
+// Mode de comparaison des critères texte (toujours insensible à la casse).
+// EXACT et PREFIX s'appuient sur les index lower(...) de schema.sql ; CONTAINS parcourt la table.
+public enum MatchMode {
+    EXACT,
+    PREFIX,
+    CONTAINS;
+
+    public static MatchMode from(String value) {
+        for (MatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("Mode de recherche non supporté: " + value + " (exact, prefix ou contains)");
+    }
+}
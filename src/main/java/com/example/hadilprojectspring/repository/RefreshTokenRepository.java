@@ -0,0 +1,36 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Consomme un jeton valide en une seule instruction : deux rotations concurrentes ne peuvent pas réussir toutes les deux
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = :now " +
+            "WHERE token_hash = :tokenHash AND revoked_at IS NULL AND expires_at > :now RETURNING *",
+            nativeQuery = true)
+    Optional<RefreshToken> consume(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    // Jetons de la famille dont le token d'accès n'a pas encore expiré
+    List<RefreshToken> findByFamilyIdAndAccessExpiresAtAfter(String familyId, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    // Purge des jetons expirés
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
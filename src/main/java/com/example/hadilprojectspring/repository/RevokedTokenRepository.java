@@ -0,0 +1,32 @@
+package com.example.hadilprojectspring.repository;
+
+import com.example.hadilprojectspring.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Révocations encore effectives
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Compteur partagé par tous les nœuds : incrémenté dans la transaction de chaque révocation
+    // (le verrou de ligne ordonne les révocations concurrentes)
+    @Query(value = "UPDATE token_revocation_version SET version = version + 1 WHERE id = 1 RETURNING version",
+            nativeQuery = true)
+    Long incrementVersion();
+
+    @Query(value = "SELECT version FROM token_revocation_version WHERE id = 1", nativeQuery = true)
+    Long currentVersion();
+
+    // Purge des révocations devenues sans effet (tokens expirés)
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
@@ -1,10 +1,15 @@
 package com.example.hadilprojectspring.repository;
 
 import com.example.hadilprojectspring.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>{
@@ -33,4 +38,20 @@ public interface UserRepository extends JpaRepository<User, Long>{
      * Trouve un utilisateur par nom d'utilisateur ou email
      */
     Optional<User> findByUsernameOrEmail(String username, String email);
+
+    /**
+     * Parcourt en flux les noms d'utilisateur et emails de tous les utilisateurs (filtre des identités)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    Stream<UserIdentity> streamAllIdentities();
+
+    /**
+     * Projection des identifiants uniques d'un utilisateur
+     */
+    interface UserIdentity {
+        String getUsername();
+
+        String getEmail();
+    }
 }
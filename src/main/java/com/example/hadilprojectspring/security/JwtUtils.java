@@ -1,15 +1,27 @@
 package com.example.hadilprojectspring.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
@@ -21,6 +33,51 @@ public class JwtUtils {
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Key signingKey;
+
+    private JwtParser jwtParser;
+
+    // Tokens déjà vérifiés -> claims, chaque entrée expire à la date "exp" du token
+    private Cache<String, Claims> verifiedTokens;
+
+    // Tokens rejetés, par cause
+    private Counter malformedTokens;
+    private Counter expiredTokens;
+    private Counter unsupportedTokens;
+    private Counter invalidSignatureTokens;
+    private Counter emptyTokens;
+    private Counter otherInvalidTokens;
+
+    /**
+     * Construit une seule fois la clé de signature, le parser et le cache des tokens vérifiés
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(Expiry.creating((String token, Claims claims) -> timeToExpiration(claims)))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtTokens");
+        malformedTokens = rejectionCounter("malformed");
+        expiredTokens = rejectionCounter("expired");
+        unsupportedTokens = rejectionCounter("unsupported");
+        invalidSignatureTokens = rejectionCounter("signature");
+        emptyTokens = rejectionCounter("empty");
+        otherInvalidTokens = rejectionCounter("other");
+    }
+
     /**
      * Génère un token JWT pour un utilisateur
      */
@@ -32,71 +89,113 @@ public class JwtUtils {
      * Génère un token JWT à partir du nom d'utilisateur
      */
     public String generateTokenFromUsername(String username) {
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationMs);
+        return issueAccessToken(username).value();
+    }
 
-        return Jwts.builder()
+    /**
+     * Émet un token d'accès de courte durée, identifié par un jti unique (clé de révocation)
+     */
+    public AccessToken issueAccessToken(String username) {
+        String jti = UUID.randomUUID().toString();
+        Date issuedAt = new Date();
+        Date expiryDate = new Date(issuedAt.getTime() + jwtExpirationMs);
+
+        String token = Jwts.builder()
+                .setId(jti)
                 .setSubject(username)
-                .setIssuedAt(new Date())
+                .setIssuedAt(issuedAt)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
+        return new AccessToken(token, jti, expiryDate);
+    }
+
+    /**
+     * Durée de validité des tokens d'accès en millisecondes
+     */
+    public long getAccessTokenValidityMs() {
+        return jwtExpirationMs;
     }
 
     /**
      * Extrait le nom d'utilisateur du token JWT
      */
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     /**
      * Valide le token JWT
      */
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+
+    /**
+     * Retourne les claims d'un token valide, ou null si le token est invalide.
+     * Un token déjà vérifié est servi depuis le cache sans nouvelle vérification de signature.
+     */
+    public Claims getValidatedClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return parseClaims(authToken);
         } catch (MalformedJwtException e) {
+            malformedTokens.increment();
             logger.error("Token JWT invalide: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            expiredTokens.increment();
             logger.error("Token JWT expiré: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
+            unsupportedTokens.increment();
             logger.error("Token JWT non supporté: {}", e.getMessage());
+        } catch (SignatureException e) {
+            invalidSignatureTokens.increment();
+            logger.error("Signature du token JWT invalide: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
+            emptyTokens.increment();
             logger.error("JWT claims string est vide: {}", e.getMessage());
         } catch (Exception e) {
+            otherInvalidTokens.increment();
             logger.error("Erreur lors de la validation du token JWT: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 
     /**
-     * Obtient la clé de signature
+     * Parse et vérifie le token, ou retourne les claims déjà vérifiés depuis le cache
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims parseClaims(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    private Counter rejectionCounter(String cause) {
+        return Counter.builder("jwt.validation.failures")
+                .description("Tokens JWT rejetés")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Durée de vie restante d'un token dans le cache, jusqu'à sa date d'expiration
+     */
+    private Duration timeToExpiration(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ofMillis(jwtExpirationMs);
+        }
+        return Duration.between(Instant.now(), expiration.toInstant());
     }
 
     /**
      * Obtient la date d'expiration du token
      */
     public Date getExpirationDateFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return parseClaims(token).getExpiration();
     }
 
     /**
@@ -106,4 +205,10 @@ public class JwtUtils {
         Date expiration = getExpirationDateFromJwtToken(token);
         return expiration.before(new Date());
     }
+
+    /**
+     * Token d'accès signé, avec son identifiant et sa date d'expiration
+     */
+    public record AccessToken(String value, String jti, Date expiration) {
+    }
 }
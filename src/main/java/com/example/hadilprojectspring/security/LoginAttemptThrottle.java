@@ -0,0 +1,99 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limitation des échecs de connexion par compte et par adresse IP, vérifiée avant tout hachage de mot de passe.
+ * Fenêtre fixe ouverte au premier échec ; le compteur du compte est remis à zéro après une connexion réussie.
+ * Le compte est identifié par son nom d'utilisateur résolu : une saisie par nom ou par email partage le même compteur.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final Duration accountWindow;
+    private final Duration ipWindow;
+    private final Cache<String, FailureWindow> accountFailures;
+    private final Cache<String, FailureWindow> ipFailures;
+    private final Counter blocked;
+
+    public LoginAttemptThrottle(@Value("${app.security.login-throttle.account.max-failures:5}") int maxAccountFailures,
+                                @Value("${app.security.login-throttle.account.window:15m}") Duration accountWindow,
+                                @Value("${app.security.login-throttle.ip.max-failures:20}") int maxIpFailures,
+                                @Value("${app.security.login-throttle.ip.window:1m}") Duration ipWindow,
+                                @Value("${app.security.login-throttle.max-entries:100000}") long maxEntries,
+                                MeterRegistry meterRegistry) {
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.accountWindow = accountWindow;
+        this.ipWindow = ipWindow;
+        this.accountFailures = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(accountWindow).build();
+        this.ipFailures = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ipWindow).build();
+        this.blocked = meterRegistry.counter("auth.login.throttled");
+    }
+
+    /**
+     * Rejette la tentative (429) si le compte ou l'adresse IP a épuisé ses échecs autorisés
+     */
+    public void checkAllowed(String account, String clientIp) {
+        long retryAfterSeconds = Math.max(
+                retryAfterSeconds(accountFailures.getIfPresent(accountKey(account)), maxAccountFailures, accountWindow),
+                retryAfterSeconds(clientIp != null ? ipFailures.getIfPresent(clientIp) : null, maxIpFailures, ipWindow));
+        if (retryAfterSeconds > 0) {
+            blocked.increment();
+            throw new TooManyRequestsException("Trop de tentatives de connexion, veuillez réessayer plus tard",
+                    retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Comptabilise un échec de connexion
+     */
+    public void recordFailure(String account, String clientIp) {
+        accountFailures.get(accountKey(account), key -> new FailureWindow(System.nanoTime())).failures.incrementAndGet();
+        if (clientIp != null) {
+            ipFailures.get(clientIp, key -> new FailureWindow(System.nanoTime())).failures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remet à zéro les échecs du compte après une connexion réussie
+     */
+    public void recordSuccess(String account) {
+        accountFailures.invalidate(accountKey(account));
+    }
+
+    private static long retryAfterSeconds(FailureWindow window, int maxFailures, Duration duration) {
+        if (window == null || window.failures.get() < maxFailures) {
+            return 0;
+        }
+        long remainingNanos = window.startNanos + duration.toNanos() - System.nanoTime();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos) + 1);
+    }
+
+    // Nom d'utilisateur résolu (ou valeur saisie pour un compte inconnu), sans distinction de casse
+    private static String accountKey(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class FailureWindow {
+        private final long startNanos;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private FailureWindow(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
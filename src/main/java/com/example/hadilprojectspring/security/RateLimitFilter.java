@@ -0,0 +1,154 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.config.RateLimitProperties;
+import com.example.hadilprojectspring.exception.GlobalExceptionHandler.ErrorResponse;
+import com.example.hadilprojectspring.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit en mémoire par politique de route (app.rate-limit.policies) : 429 + Retry-After au-delà.
+ * Une requête acceptée coûte une recherche dans une ConcurrentHashMap et un compareAndSet (voir RateLimitBenchmark).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<CompiledPolicy> policies;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.objectMapper = objectMapper;
+        this.policies = properties.policies().stream()
+                .map(policy -> new CompiledPolicy(policy, meterRegistry))
+                .toList();
+        meterRegistry.gauge("rate.limit.buckets", this.policies,
+                compiled -> compiled.stream().mapToInt(policy -> policy.buckets.size()).sum());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || policies.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        CompiledPolicy policy = findPolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = policy.tryAcquire(clientKey(policy, request), System.nanoTime());
+        if (waitNanos == 0) {
+            policy.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        policy.rejected.increment();
+        reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+    }
+
+    /**
+     * Supprime les seaux entièrement rechargés (clients inactifs) pour borner la mémoire
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (CompiledPolicy policy : policies) {
+            policy.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private CompiledPolicy findPolicy(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledPolicy policy : policies) {
+            if (policy.pattern.matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(CompiledPolicy policy, HttpServletRequest request) {
+        if (policy.keyType == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .success(false)
+                .message("Trop de requêtes, veuillez réessayer plus tard")
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static final class CompiledPolicy {
+        private final PathPattern pattern;
+        private final RateLimitProperties.KeyType keyType;
+        private final int capacity;
+        private final long emissionIntervalNanos;
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private CompiledPolicy(RateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+            this.pattern = PathPatternParser.defaultInstance.parse(policy.path());
+            this.keyType = policy.key();
+            this.capacity = policy.capacity();
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / policy.refillPerMinute();
+            this.allowed = meterRegistry.counter("rate.limit.requests", "policy", policy.name(), "outcome", "allowed");
+            this.rejected = meterRegistry.counter("rate.limit.requests", "policy", policy.name(), "outcome", "rejected");
+        }
+
+        private long tryAcquire(String key, long nowNanos) {
+            // get d'abord : computeIfAbsent peut verrouiller le compartiment même quand la clé existe
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, emissionIntervalNanos, nowNanos));
+            }
+            return bucket.tryAcquire(nowNanos);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.RevokedToken;
+import com.example.hadilprojectspring.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste en mémoire des tokens d'accès révoqués (jti -> expiration) : la vérification faite à chaque requête
+ * est un containsKey, sans requête ni allocation. Les révocations des autres nœuds sont rechargées depuis
+ * revoked_tokens dès que le compteur partagé token_revocation_version change.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Dernière version chargée depuis la base (-1 : jamais chargée)
+    private volatile long loadedVersion = -1;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("jwt.revoked.tokens", Tags.empty(), revoked);
+    }
+
+    /**
+     * Vrai si le token d'identifiant donné a été révoqué
+     */
+    public boolean isRevoked(String jti) {
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Révoque un token d'accès jusqu'à son expiration, sur ce nœud immédiatement et sur les autres au prochain rechargement
+     */
+    @Transactional
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti,
+                LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()), LocalDateTime.now()));
+        revokedTokenRepository.incrementVersion();
+        revoked.put(jti, expiration.getTime());
+    }
+
+    /**
+     * Recharge les révocations si la version partagée a changé, puis oublie les tokens expirés
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.poll-interval-ms:5000}",
+            initialDelayString = "${app.jwt.revocation.poll-interval-ms:5000}")
+    public void synchronize() {
+        try {
+            Long version = revokedTokenRepository.currentVersion();
+            if (version != null && version != loadedVersion) {
+                // Version lue avant la liste : une révocation validée entre les deux sera rechargée au passage suivant
+                for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+                    revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+                loadedVersion = version;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Échec du rechargement des tokens révoqués: {}", e.getMessage());
+        }
+
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiration -> expiration <= now);
+    }
+
+    /**
+     * Supprime de la base les révocations de tokens expirés
+     */
+    @Transactional
+    public int purgeExpired() {
+        return revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+}
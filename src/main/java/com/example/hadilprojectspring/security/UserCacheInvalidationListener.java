@@ -0,0 +1,51 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA qui invalide le cache des principaux à chaque écriture d'un User
+ * (mot de passe, rôle, flags enabled/locked...) et alimente le filtre des identités.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    // Résolu à la première utilisation : le listener est créé pendant l'initialisation de JPA
+    @Autowired
+    @Lazy
+    private UserIdentityFilter userIdentityFilter;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChange(User user) {
+        userPrincipalCache.evict(user);
+
+        // Évincer à nouveau après le commit, au cas où une requête concurrente aurait
+        // remis en cache l'ancienne version entre le flush et le commit.
+        // Le filtre des identités n'est alimenté qu'après le commit : une reconstruction qui lit la table
+        // avant ce commit a déjà publié ses filtres en construction (next), qui reçoivent donc l'ajout
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userPrincipalCache.evict(user);
+                    // Nouveau nom ou email connu du filtre des identités (après une suppression : simple faux positif)
+                    userIdentityFilter.add(user);
+                }
+            });
+        } else {
+            userIdentityFilter.add(user);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.User;
+import com.example.hadilprojectspring.repository.UserRepository;
+import com.example.hadilprojectspring.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Filtres de Bloom des noms d'utilisateur et emails existants : une réponse négative garantit que la valeur
+ * est libre sans interroger la base ; seules les réponses positives (probables) sont vérifiées dans PostgreSQL.
+ * Chargés au démarrage, alimentés à chaque écriture d'un User et reconstruits périodiquement
+ * (les valeurs supprimées ou modifiées ne restent que des faux positifs jusque-là).
+ */
+@Component
+public class UserIdentityFilter {
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityFilter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.identity-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.security.identity-filter.min-capacity:100000}")
+    private long minCapacity;
+
+    private volatile Filters current;
+    // Filtres en cours de reconstruction : reçoivent aussi les ajouts concurrents pour n'en perdre aucun
+    private volatile Filters next;
+
+    private Counter databaseSkipped;
+    private Counter databaseChecked;
+
+    @PostConstruct
+    public void init() {
+        databaseSkipped = meterRegistry.counter("auth.identity.filter", "result", "absent");
+        databaseChecked = meterRegistry.counter("auth.identity.filter", "result", "probable");
+    }
+
+    /**
+     * Vrai si le nom d'utilisateur existe (filtre puis base si nécessaire)
+     */
+    public boolean usernameExists(String username) {
+        return exists(username, current != null ? current.usernames : null, userRepository::existsByUsername);
+    }
+
+    /**
+     * Vrai si l'email existe (filtre puis base si nécessaire)
+     */
+    public boolean emailExists(String email) {
+        return exists(email, current != null ? current.emails : null, userRepository::existsByEmail);
+    }
+
+    /**
+     * Ajoute le nom d'utilisateur et l'email d'un utilisateur enregistré ou modifié, une fois sa transaction validée
+     */
+    public void add(User user) {
+        // next lu avant current : rebuild() publie current puis efface next, les nouveaux filtres sont donc toujours atteints
+        Filters rebuilding = next;
+        if (rebuilding != null) {
+            rebuilding.add(user.getUsername(), user.getEmail());
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(user.getUsername(), user.getEmail());
+        }
+    }
+
+    /**
+     * Chargement initial puis reconstruction périodique à partir de la table users
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.identity-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.security.identity-filter.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long capacity = Math.max(minCapacity, userRepository.count() * 2);
+        Filters rebuilding = new Filters(capacity, falsePositiveRate);
+        // Publié avant la lecture : un utilisateur validé après le début du parcours (donc absent de la lecture)
+        // est ajouté à ces filtres par add(), appelé après son commit
+        next = rebuilding;
+        try (Stream<UserRepository.UserIdentity> identities = userRepository.streamAllIdentities()) {
+            identities.forEach(identity -> rebuilding.add(identity.getUsername(), identity.getEmail()));
+            current = rebuilding;
+            logger.info("Filtre des identités reconstruit : capacité {}, {} bits, {} fonctions de hachage",
+                    capacity, rebuilding.usernames.bitSize(), rebuilding.usernames.hashCount());
+        } catch (RuntimeException e) {
+            // Les filtres précédents restent en place (ou la base est interrogée s'il n'y en a pas)
+            logger.error("Échec de la reconstruction du filtre des identités: {}", e.getMessage());
+        } finally {
+            next = null;
+        }
+    }
+
+    private boolean exists(String value, BloomFilter filter, Predicate<String> database) {
+        if (filter != null && !filter.mightContain(value)) {
+            databaseSkipped.increment();
+            return false;
+        }
+        databaseChecked.increment();
+        return database.test(value);
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = BloomFilter.create(capacity, falsePositiveRate);
+            this.emails = BloomFilter.create(capacity, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache borné (taille et TTL) des UserDetails chargés par CustomUserDetailsService.
+ * Les entrées sont indexées par le nom d'utilisateur canonique ; une recherche par email passe
+ * par une petite table d'alias email → nom d'utilisateur, de sorte que l'éviction se fait par clé.
+ */
+@Component
+public class UserPrincipalCache {
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> principals;
+
+    private Cache<String, String> aliases;
+
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        aliases = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "userPrincipals");
+    }
+
+    /**
+     * Retourne une copie du principal en cache, ou null.
+     * Une copie est nécessaire car ProviderManager efface le mot de passe du principal après authentification.
+     */
+    public UserDetails get(String usernameOrEmail) {
+        String username = aliases.getIfPresent(usernameOrEmail);
+        UserDetails cached = principals.getIfPresent(username != null ? username : usernameOrEmail);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * Met en cache une copie du principal sous son nom d'utilisateur, et l'alias si la recherche
+     * s'est faite par email
+     */
+    public void put(String usernameOrEmail, UserDetails userDetails) {
+        principals.put(userDetails.getUsername(), copyOf(userDetails));
+        if (!usernameOrEmail.equals(userDetails.getUsername())) {
+            aliases.put(usernameOrEmail, userDetails.getUsername());
+        }
+    }
+
+    /**
+     * Supprime le principal de l'utilisateur et son alias email (deux accès par clé)
+     */
+    public void evict(User user) {
+        principals.invalidate(user.getUsername());
+        if (user.getEmail() != null) {
+            aliases.invalidate(user.getEmail());
+        }
+    }
+
+    private UserDetails copyOf(UserDetails userDetails) {
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).build();
+    }
+}
@@ -3,22 +3,35 @@ import com.example.hadilprojectspring.dto.JwtResponse;
 import com.example.hadilprojectspring.dto.LoginRequest;
 import com.example.hadilprojectspring.dto.SignupRequest;
 import com.example.hadilprojectspring.entity.User;
+import com.example.hadilprojectspring.exception.ResourceNotFoundException;
+import com.example.hadilprojectspring.exception.ServiceUnavailableException;
 import com.example.hadilprojectspring.repository.UserRepository;
 import com.example.hadilprojectspring.security.JwtUtils;
+import com.example.hadilprojectspring.security.LoginAttemptThrottle;
+import com.example.hadilprojectspring.security.UserIdentityFilter;
+import com.example.hadilprojectspring.service.RefreshTokenService.TokenPair;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 
+@Timed(value = "auth.service", histogram = true)
 @Service
 public class AuthService {
+    private static final String USERNAME_TAKEN = "Erreur: Le nom d'utilisateur est déjà pris!";
+    private static final String EMAIL_TAKEN = "Erreur: L'email est déjà utilisé!";
 
     @Autowired
     private AuthenticationManager authenticationManager;
@@ -32,18 +45,30 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserIdentityFilter userIdentityFilter;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     /**
      * Inscription d'un nouvel utilisateur
      */
     public String signup(SignupRequest signupRequest) {
         // Vérifier si le nom d'utilisateur existe déjà
-        if (userRepository.existsByUsername(signupRequest.getUsername())) {
-            throw new RuntimeException("Erreur: Le nom d'utilisateur est déjà pris!");
+        if (userIdentityFilter.usernameExists(signupRequest.getUsername())) {
+            throw new RuntimeException(USERNAME_TAKEN);
         }
 
         // Vérifier si l'email existe déjà
-        if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new RuntimeException("Erreur: L'email est déjà utilisé!");
+        if (userIdentityFilter.emailExists(signupRequest.getEmail())) {
+            throw new RuntimeException(EMAIL_TAKEN);
         }
 
         // Créer un nouvel utilisateur
@@ -51,16 +76,23 @@ public class AuthService {
                 signupRequest.getEmail(),
                 passwordEncoder.encode(signupRequest.getPassword()));
 
-        // Sauvegarder l'utilisateur
-        userRepository.save(user);
+        // Sauvegarder l'utilisateur (les contraintes d'unicité tranchent entre inscriptions concurrentes)
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+            throw new RuntimeException(detail.contains("(email)") ? EMAIL_TAKEN : USERNAME_TAKEN);
+        }
 
         return "Utilisateur enregistré avec succès!";
     }
 
     /**
-     * Connexion d'un utilisateur
+     * Connexion d'un utilisateur (limitée par compte et par adresse IP avant toute vérification du mot de passe)
      */
-    public JwtResponse login(LoginRequest loginRequest) {
+    public JwtResponse login(LoginRequest loginRequest, String clientIp) {
+        String account = resolveAccount(loginRequest.getUsernameOrEmail());
+        loginAttemptThrottle.checkAllowed(account, clientIp);
         try {
             // Authentifier l'utilisateur
             Authentication authentication = authenticationManager.authenticate(
@@ -75,8 +107,8 @@ public class AuthService {
             // Récupérer les détails de l'utilisateur (UserDetails)
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-            // Générer le token JWT
-            String jwt = jwtUtils.generateJwtToken(userDetails);
+            // Générer le token d'accès et le jeton de rafraîchissement
+            TokenPair tokens = refreshTokenService.issue(userDetails.getUsername());
 
             // Récupérer l'utilisateur depuis la base de données pour obtenir les détails complets
             User user = userRepository.findByUsernameOrEmail(
@@ -84,18 +116,60 @@ public class AuthService {
                     loginRequest.getUsernameOrEmail()
             ).orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
 
-            return new JwtResponse(jwt,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail());
+            loginAttemptThrottle.recordSuccess(account);
+            return toJwtResponse(tokens, user);
 
         } catch (BadCredentialsException e) {
+            loginAttemptThrottle.recordFailure(account, clientIp);
             throw new RuntimeException("Nom d'utilisateur ou mot de passe incorrect!");
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la connexion: " + e.getMessage());
         }
     }
 
+    /**
+     * Nom d'utilisateur du compte saisi par nom ou par email (principal en cache, sans hachage),
+     * la valeur saisie elle-même pour un compte inconnu
+     */
+    private String resolveAccount(String usernameOrEmail) {
+        try {
+            return userDetailsService.loadUserByUsername(usernameOrEmail).getUsername();
+        } catch (UsernameNotFoundException e) {
+            return usernameOrEmail;
+        }
+    }
+
+    /**
+     * Nouvelle paire de tokens en échange d'un jeton de rafraîchissement (consommé)
+     */
+    public JwtResponse refresh(String refreshToken) {
+        TokenPair tokens = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findByUsername(tokens.username())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        return toJwtResponse(tokens, user);
+    }
+
+    /**
+     * Déconnexion : révoque le token d'accès présenté et la famille du jeton de rafraîchissement
+     */
+    public void logout(String accessToken, String refreshToken) {
+        Claims claims = accessToken != null ? jwtUtils.getValidatedClaims(accessToken) : null;
+        refreshTokenService.logout(refreshToken,
+                claims != null ? claims.getId() : null,
+                claims != null ? claims.getExpiration() : null);
+    }
+
+    private JwtResponse toJwtResponse(TokenPair tokens, User user) {
+        return new JwtResponse(tokens.accessToken().value(),
+                tokens.refreshToken(),
+                jwtUtils.getAccessTokenValidityMs() / 1000,
+                user.getId(),
+                user.getUsername(),
+                user.getEmail());
+    }
+
     /**
      * Récupérer l'utilisateur actuellement connecté
      */
@@ -113,17 +187,25 @@ public class AuthService {
         throw new RuntimeException("Aucun utilisateur connecté trouvé!");
     }
 
+    /**
+     * Récupérer un utilisateur par son identifiant
+     */
+    public User getUserById(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'ID: " + id));
+    }
+
     /**
      * Vérifier si un nom d'utilisateur est disponible
      */
     public boolean isUsernameAvailable(String username) {
-        return !userRepository.existsByUsername(username);
+        return !userIdentityFilter.usernameExists(username);
     }
 
     /**
      * Vérifier si un email est disponible
      */
     public boolean isEmailAvailable(String email) {
-        return !userRepository.existsByEmail(email);
+        return !userIdentityFilter.emailExists(email);
     }
 }
@@ -1,8 +1,10 @@
 package com.example.hadilprojectspring.service;
 
 import com.example.hadilprojectspring.entity.User;
+import com.example.hadilprojectspring.security.UserPrincipalCache;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import com.example.hadilprojectspring.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,21 +12,32 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Timed(value = "auth.user.details", histogram = true)
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    /**
+     * Pas de @Transactional ici : un principal en cache ne doit ouvrir ni transaction ni connexion
+     */
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        UserDetails cached = userPrincipalCache.get(usernameOrEmail);
+        if (cached != null) {
+            return cached;
+        }
+
         // Chercher l'utilisateur par nom d'utilisateur ou email
         User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "Utilisateur non trouvé avec le nom d'utilisateur ou email : " + usernameOrEmail));
 
-        return org.springframework.security.core.userdetails.User
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
                 .withUsername(user.getUsername())
                 .password(user.getPassword())
                 .authorities(user.getAuthorities())
@@ -33,6 +46,9 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .credentialsExpired(!user.isCredentialsNonExpired())
                 .disabled(!user.isEnabled())
                 .build();
+
+        userPrincipalCache.put(usernameOrEmail, userDetails);
+        return userDetails;
     }
 
     /**
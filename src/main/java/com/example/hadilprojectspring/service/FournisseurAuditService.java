@@ -0,0 +1,218 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import com.example.hadilprojectspring.repository.FournisseurAuditRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal d'audit asynchrone des fournisseurs : les modifications validées (après commit) sont placées
+ * dans une file bornée, puis écrites par lots JDBC par une tâche planifiée, hors du thread de la requête.
+ * File pleine : l'appelant écrit lui-même son événement (contre-pression, aucune perte).
+ * Lot en échec : nouvelles tentatives espacées, puis écriture événement par événement (seul l'invalide est perdu).
+ * À l'arrêt de l'application, la file est entièrement vidée en base.
+ */
+@Service
+@Slf4j
+public class FournisseurAuditService {
+    private final FournisseurAuditRepository fournisseurAuditRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FournisseurChangeEvent> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final int writeAttempts;
+    private final long retryBackoffMs;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter callerRunsCounter;
+    private final Counter failedCounter;
+
+    public FournisseurAuditService(FournisseurAuditRepository fournisseurAuditRepository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.audit.batch-size:500}") int batchSize,
+                                   @Value("${app.audit.offer-timeout-ms:50}") long offerTimeoutMs,
+                                   @Value("${app.audit.write-attempts:3}") int writeAttempts,
+                                   @Value("${app.audit.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.fournisseurAuditRepository = fournisseurAuditRepository;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+
+        // Transaction propre au journal : indépendante de celle (déjà validée) de la modification
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        meterRegistry.gaugeCollectionSize("audit.queue.size", Tags.empty(), queue);
+        this.callerRunsCounter = meterRegistry.counter("audit.events.caller.runs");
+        this.failedCounter = meterRegistry.counter("audit.events.failed");
+    }
+
+    // Seules les modifications validées sont journalisées (événement ignoré si la transaction est annulée)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFournisseurChange(FournisseurChangeEvent event) {
+        try {
+            if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // File saturée : écriture synchrone par l'appelant plutôt que perte de l'événement
+        callerRunsCounter.increment();
+        write(List.of(event));
+    }
+
+    // Modification en masse validée : écrite directement en une instruction INSERT ... SELECT
+    // (un seul événement, sans passer par la file ni créer une entité par fournisseur)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFournisseurBulkChange(FournisseurBulkChangeEvent event) {
+        if (event.fournisseurIds().isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> fournisseurAuditRepository.insertBulk(
+                    event.idsArrayLiteral(), event.action().name(), event.utilisateur(),
+                    toJson(event.valeursAvant()), toJson(event.valeursApres()), event.dateAction()));
+            log.debug("{} entrées d'audit écrites en masse", event.fournisseurIds().size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(event.fournisseurIds().size());
+            log.error("Écriture en masse de {} entrées d'audit impossible ({})",
+                    event.fournisseurIds().size(), event.action(), e);
+        }
+    }
+
+    // Vide la file par lots de batchSize événements
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<FournisseurChangeEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Arrêt : écriture des {} événements d'audit en attente", queue.size());
+        flush();
+    }
+
+    private void write(List<FournisseurChangeEvent> events) {
+        if (writeWithRetry(events)) {
+            return;
+        }
+        if (events.size() == 1) {
+            failedCounter.increment();
+            log.error("Événement d'audit perdu: {}", events.get(0));
+            return;
+        }
+
+        // Lot toujours refusé : une transaction par événement, seuls les événements invalides sont perdus
+        log.warn("Lot de {} événements d'audit refusé : écriture événement par événement", events.size());
+        int lost = 0;
+        for (FournisseurChangeEvent event : events) {
+            RuntimeException failure = tryWrite(List.of(event));
+            if (failure != null) {
+                lost++;
+                failedCounter.increment();
+                log.error("Événement d'audit perdu: {}", event, failure);
+            }
+        }
+        log.debug("{} événements d'audit écrits un à un, {} perdus", events.size() - lost, lost);
+    }
+
+    // Nouvelles tentatives du lot entier avec un délai doublé à chaque fois (erreur transitoire : connexion, verrou)
+    private boolean writeWithRetry(List<FournisseurChangeEvent> events) {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            RuntimeException failure = tryWrite(events);
+            if (failure == null) {
+                log.debug("{} événements d'audit écrits", events.size());
+                return true;
+            }
+            log.warn("Écriture de {} événements d'audit impossible (tentative {}/{}): {}",
+                    events.size(), attempt, writeAttempts, failure.getMessage());
+            if (attempt >= writeAttempts || !pause(backoffMs)) {
+                return false;
+            }
+            backoffMs *= 2;
+        }
+    }
+
+    // Entités recréées à chaque tentative : celles d'une transaction annulée ont déjà reçu un identifiant
+    private RuntimeException tryWrite(List<FournisseurChangeEvent> events) {
+        try {
+            List<FournisseurAudit> entries = events.stream().map(this::toEntry).toList();
+            transactionTemplate.executeWithoutResult(status -> fournisseurAuditRepository.saveAll(entries));
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static boolean pause(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private FournisseurAudit toEntry(FournisseurChangeEvent event) {
+        FournisseurAudit entry = new FournisseurAudit();
+        entry.setFournisseurId(event.fournisseurId());
+        entry.setAction(event.action());
+        entry.setUtilisateur(event.utilisateur());
+        entry.setValeurAvant(toJson(event.valeurAvant()));
+        entry.setValeurApres(toJson(event.valeurApres()));
+        entry.setDateAction(event.dateAction());
+        return entry;
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation d'une valeur d'audit impossible", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modification d'un ensemble de fournisseurs (changement de statut en masse, lot d'import).
+ * Un seul événement pour tout le lot : boîte d'envoi et journal d'audit l'écrivent en une instruction INSERT ... SELECT.
+ * Les valeurs avant/après sont alignées sur les identifiants (même taille, même ordre).
+ */
+public record FournisseurBulkChangeEvent(List<Long> fournisseurIds, Action action, String utilisateur,
+                                         List<?> valeursAvant, List<?> valeursApres, LocalDateTime dateAction) {
+
+    public FournisseurBulkChangeEvent {
+        if (valeursAvant.size() != fournisseurIds.size() || valeursApres.size() != fournisseurIds.size()) {
+            throw new IllegalArgumentException("Une valeur avant/après par fournisseur du lot est attendue");
+        }
+    }
+
+    // Même valeur avant/après pour tout le lot (changement de statut)
+    public static FournisseurBulkChangeEvent of(List<Long> fournisseurIds, Action action,
+                                                Object valeurAvant, Object valeurApres) {
+        return ofEach(fournisseurIds, action, Collections.nCopies(fournisseurIds.size(), valeurAvant),
+                Collections.nCopies(fournisseurIds.size(), valeurApres));
+    }
+
+    // Valeurs propres à chaque fournisseur du lot (import)
+    public static FournisseurBulkChangeEvent ofEach(List<Long> fournisseurIds, Action action,
+                                                    List<?> valeursAvant, List<?> valeursApres) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return new FournisseurBulkChangeEvent(List.copyOf(fournisseurIds), action,
+                authentication != null ? authentication.getName() : null,
+                Collections.unmodifiableList(valeursAvant), Collections.unmodifiableList(valeursApres),
+                LocalDateTime.now());
+    }
+
+    // Tableau PostgreSQL littéral ({1,2,3}) lu par unnest(CAST(:ids AS bigint[]))
+    public String idsArrayLiteral() {
+        StringBuilder literal = new StringBuilder(fournisseurIds.size() * 8).append('{');
+        for (int i = 0; i < fournisseurIds.size(); i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(fournisseurIds.get(i));
+        }
+        return literal.append('}').toString();
+    }
+}
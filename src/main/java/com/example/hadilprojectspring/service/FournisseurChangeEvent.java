@@ -0,0 +1,26 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modification d'un fournisseur publiée par la couche service. Les valeurs avant/après sont des instantanés
+ * (DTO ou critères) sérialisés seulement au moment de l'écriture du journal, hors du thread de la requête.
+ */
+public record FournisseurChangeEvent(Long fournisseurId, Action action, String utilisateur,
+                                     Object valeurAvant, Object valeurApres, LocalDateTime dateAction) {
+
+    public static FournisseurChangeEvent of(Long fournisseurId, Action action, Object valeurAvant, Object valeurApres) {
+        return new FournisseurChangeEvent(fournisseurId, action, currentUsername(), valeurAvant, valeurApres,
+                LocalDateTime.now());
+    }
+
+    // Utilisateur authentifié du thread courant (la requête), null hors contexte de sécurité
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.ChangeFeedPage;
+import com.example.hadilprojectspring.dto.FournisseurChangeDto;
+import com.example.hadilprojectspring.exception.ChangeFeedExpiredException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion du flux de changements en Server-Sent Events : une tâche planifiée lit la boîte d'envoi
+ * et pousse à chaque abonné les changements postérieurs à sa propre position (id d'événement = séquence,
+ * reprise possible via l'en-tête Last-Event-ID). Les lectures et envois vers chaque abonné se font sur
+ * un pool dédié : un client lent ne bloque ni le planificateur ni les autres abonnés.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FournisseurChangeStreamService {
+    private static final long HEARTBEAT_INTERVAL_MS = 15_000;
+
+    private final FournisseurOutboxService fournisseurOutboxService;
+    private final MeterRegistry meterRegistry;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private ExecutorService sendExecutor;
+
+    @Value("${app.outbox.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.outbox.stream.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.stream.send-threads:4}")
+    private int sendThreads;
+
+    @PostConstruct
+    void startSendExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Au plus une tâche en attente par abonné (drapeau sending) : la file reste bornée par le nombre d'abonnés
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "change-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        sendExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "changeStream");
+    }
+
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter, since);
+
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+
+        log.info("Nouvel abonné au flux de changements depuis la séquence {}", since);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.stream.poll-interval-ms:1000}")
+    public void poll() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        long latest = fournisseurOutboxService.getLatestSequence();
+        for (Subscription subscription : subscriptions) {
+            // Envoi précédent encore en cours (client lent) : l'abonné sera repris au prochain passage
+            if (subscription.sending.compareAndSet(false, true)) {
+                sendExecutor.execute(() -> send(subscription, latest));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void completeAll() {
+        sendExecutor.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    private void send(Subscription subscription, long latest) {
+        long now = System.currentTimeMillis();
+        try {
+            if (subscription.lastSequence < latest) {
+                push(subscription, now);
+            } else if (now - subscription.lastSentAt > HEARTBEAT_INTERVAL_MS) {
+                // Commentaire SSE : garde la connexion ouverte et détecte les clients partis
+                subscription.emitter.send(SseEmitter.event().comment("keep-alive"));
+                subscription.lastSentAt = now;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Abonné au flux de changements déconnecté: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } catch (ChangeFeedExpiredException e) {
+            // Abonné resté derrière la purge : le client doit se resynchroniser puis se réabonner
+            log.warn("Abonné au flux de changements derrière la purge: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            log.warn("Envoi du flux de changements impossible: {}", e.getMessage());
+        } finally {
+            subscription.sending.set(false);
+        }
+    }
+
+    private void push(Subscription subscription, long now) throws IOException {
+        ChangeFeedPage<FournisseurChangeDto> page = fournisseurOutboxService.getChanges(subscription.lastSequence, batchSize);
+        for (FournisseurChangeDto change : page.getChanges()) {
+            subscription.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSequence()))
+                    .name("fournisseur-change")
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+        subscription.lastSequence = page.getNextSince();
+        subscription.lastSentAt = now;
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long lastSequence;
+        private volatile long lastSentAt = System.currentTimeMillis();
+
+        private Subscription(SseEmitter emitter, long lastSequence) {
+            this.emitter = emitter;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination keyset : position (dateCreation, id) du dernier élément renvoyé
+ */
+public record FournisseurCursor(LocalDateTime dateCreation, Long id) {
+
+    public static FournisseurCursor of(Fournisseur fournisseur) {
+        return new FournisseurCursor(fournisseur.getDateCreation(), fournisseur.getId());
+    }
+
+    public static FournisseurCursor of(FournisseurResponseDto fournisseur) {
+        return new FournisseurCursor(fournisseur.getDateCreation(), fournisseur.getId());
+    }
+
+    public String encode() {
+        String raw = dateCreation + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FournisseurCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new FournisseurCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.exception.BadRequestException;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import com.example.hadilprojectspring.repository.FournisseurRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Timed(value = "fournisseur.export", histogram = true)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FournisseurExportService {
+    private final FournisseurRepository fournisseurRepository;
+    private final FournisseurMapper fournisseurMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private static final String[] CSV_HEADER = {
+            "id", "matricule", "raisonSociale", "adresse", "codeTva", "email", "telephone1", "telephone2",
+            "fax", "responsableContact", "devise", "observations", "actif", "dateCreation", "dateModification"
+    };
+
+    // Formats d'export disponibles
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Format d'export non supporté: " + value);
+        }
+    }
+
+    // Écrit les fournisseurs ligne par ligne au fil de la lecture : la mémoire utilisée ne dépend pas du volume
+    @Transactional(readOnly = true)
+    public long exportFournisseurs(ExportFormat format, Boolean actif, OutputStream outputStream) throws IOException {
+        log.info("Export des fournisseurs au format {}", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write('\n');
+        }
+
+        try (Stream<Fournisseur> fournisseurs = actif != null
+                ? fournisseurRepository.streamForExportByActif(actif)
+                : fournisseurRepository.streamForExport()) {
+            Iterator<Fournisseur> iterator = fournisseurs.iterator();
+            while (iterator.hasNext()) {
+                Fournisseur fournisseur = iterator.next();
+                FournisseurResponseDto dto = fournisseurMapper.mapToResponseDto(fournisseur);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                // Détacher l'entité pour que le contexte de persistance ne grossisse pas
+                entityManager.detach(fournisseur);
+                count++;
+            }
+        }
+
+        writer.flush();
+        log.info("Export terminé: {} fournisseurs", count);
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, FournisseurResponseDto dto) throws IOException {
+        Object[] values = {
+                dto.getId(), dto.getMatricule(), dto.getRaisonSociale(), dto.getAdresse(), dto.getCodeTva(),
+                dto.getEmail(), dto.getTelephone1(), dto.getTelephone2(), dto.getFax(), dto.getResponsableContact(),
+                dto.getDevise(), dto.getObservations(), dto.getActif(), dto.getDateCreation(), dto.getDateModification()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    // Entoure la valeur de guillemets si elle contient un séparateur, un guillemet ou un saut de ligne
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
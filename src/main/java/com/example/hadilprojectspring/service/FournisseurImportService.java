@@ -0,0 +1,252 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.config.CacheConfig;
+import com.example.hadilprojectspring.dto.FournisseurImportReport;
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.example.hadilprojectspring.exception.BadRequestException;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import com.example.hadilprojectspring.repository.FournisseurRepository;
+import com.example.hadilprojectspring.util.CsvRecordReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de fournisseurs : validation et contrôle d'unicité par lots (une requête par lot),
+ * puis insertion en batch JDBC dans une transaction par lot.
+ */
+@Timed(value = "fournisseur.import", histogram = true)
+@Service
+@Slf4j
+public class FournisseurImportService {
+    private static final int CHUNK_SIZE = 500;
+
+    private final FournisseurRepository fournisseurRepository;
+    private final FournisseurMapper fournisseurMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FournisseurImportService(FournisseurRepository fournisseurRepository,
+                                    FournisseurMapper fournisseurMapper,
+                                    Validator validator,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.fournisseurRepository = fournisseurRepository;
+        this.fournisseurMapper = fournisseurMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Import d'une liste de fournisseurs (JSON)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
+    public FournisseurImportReport importFournisseurs(List<FournisseurRequestDto> requestDtos) {
+        log.info("Import de {} fournisseurs", requestDtos.size());
+
+        ImportContext context = new ImportContext();
+        for (int start = 0; start < requestDtos.size(); start += CHUNK_SIZE) {
+            List<FournisseurRequestDto> chunk = requestDtos.subList(start, Math.min(start + CHUNK_SIZE, requestDtos.size()));
+            importChunk(chunk, start + 1, context);
+        }
+
+        finishReport(context.report);
+        return context.report;
+    }
+
+    // Import d'un fichier CSV (en-tête obligatoire, mêmes colonnes que l'export), lu lot par lot
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
+    public FournisseurImportReport importCsv(InputStream inputStream) throws IOException {
+        log.info("Import CSV de fournisseurs");
+
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new BadRequestException("Le fichier CSV est vide");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+
+        ImportContext context = new ImportContext();
+        List<FournisseurRequestDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        int firstRow = 1;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            chunk.add(toRequestDto(record, columns));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, firstRow, context);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, firstRow, context);
+        }
+
+        finishReport(context.report);
+        return context.report;
+    }
+
+    private void importChunk(List<FournisseurRequestDto> chunk, int firstRow, ImportContext context) {
+        // 1. Validation et doublons internes au fichier
+        Map<Integer, FournisseurRequestDto> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            int row = firstRow + i;
+            FournisseurRequestDto dto = chunk.get(i);
+
+            List<String> errors = validator.validate(dto).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (dto.getMatricule() != null && !context.matricules.add(dto.getMatricule())) {
+                errors.add("matricule: dupliqué dans l'import");
+            }
+            if (dto.getEmail() != null && !context.emails.add(dto.getEmail())) {
+                errors.add("email: dupliqué dans l'import");
+            }
+
+            if (errors.isEmpty()) {
+                candidates.put(row, dto);
+            } else {
+                context.report.addRejected(row, dto.getMatricule(), errors);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 2. Unicité par rapport à la base : une seule requête pour tout le lot
+        Set<String> matricules = candidates.values().stream().map(FournisseurRequestDto::getMatricule).collect(Collectors.toSet());
+        Set<String> emails = candidates.values().stream().map(FournisseurRequestDto::getEmail).collect(Collectors.toSet());
+        Set<String> existingMatricules = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        for (FournisseurRepository.UniqueKeys keys : fournisseurRepository.findExistingKeys(matricules, emails)) {
+            existingMatricules.add(keys.getMatricule());
+            existingEmails.add(keys.getEmail());
+        }
+
+        Map<Integer, Fournisseur> toInsert = new LinkedHashMap<>();
+        candidates.forEach((row, dto) -> {
+            List<String> errors = new ArrayList<>();
+            if (existingMatricules.contains(dto.getMatricule())) {
+                errors.add("matricule: un fournisseur avec ce matricule existe déjà");
+            }
+            if (existingEmails.contains(dto.getEmail())) {
+                errors.add("email: un fournisseur avec cet email existe déjà");
+            }
+            if (errors.isEmpty()) {
+                toInsert.put(row, fournisseurMapper.mapToEntity(dto));
+            } else {
+                context.report.addRejected(row, dto.getMatricule(), errors);
+            }
+        });
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        // 3. Insertion en batch JDBC (identifiants pré-alloués par la séquence). Flush par le repository :
+        // un conflit d'unicité y est traduit en DataIntegrityViolationException et n'annule que ce lot
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Fournisseur> saved = fournisseurRepository.saveAllAndFlush(toInsert.values());
+                // Un seul événement pour le lot : boîte d'envoi et audit l'écrivent en une instruction chacun
+                List<FournisseurResponseDto> created = saved.stream().map(fournisseurMapper::mapToResponseDto).toList();
+                eventPublisher.publishEvent(FournisseurBulkChangeEvent.ofEach(
+                        created.stream().map(FournisseurResponseDto::getId).toList(), Action.IMPORT,
+                        Collections.nCopies(created.size(), null), created));
+                entityManager.clear();
+            });
+            toInsert.forEach((row, fournisseur) ->
+                    context.report.addCreated(row, fournisseur.getMatricule(), fournisseur.getId()));
+        } catch (DataIntegrityViolationException e) {
+            // Conflit d'unicité concurrent : tout le lot est annulé
+            log.warn("Lot d'import annulé suite à un conflit d'unicité: {}", e.getMostSpecificCause().getMessage());
+            toInsert.forEach((row, fournisseur) -> context.report.addRejected(row, fournisseur.getMatricule(),
+                    List.of("Conflit d'unicité avec une écriture concurrente, lot annulé")));
+        }
+    }
+
+    private FournisseurRequestDto toRequestDto(List<String> record, Map<String, Integer> columns) {
+        FournisseurRequestDto dto = new FournisseurRequestDto();
+        dto.setMatricule(column(record, columns, "matricule"));
+        dto.setRaisonSociale(column(record, columns, "raisonSociale"));
+        dto.setAdresse(column(record, columns, "adresse"));
+        dto.setCodeTva(column(record, columns, "codeTva"));
+        dto.setEmail(column(record, columns, "email"));
+        dto.setTelephone1(column(record, columns, "telephone1"));
+        dto.setTelephone2(column(record, columns, "telephone2"));
+        dto.setFax(column(record, columns, "fax"));
+        dto.setResponsableContact(column(record, columns, "responsableContact"));
+        dto.setDevise(column(record, columns, "devise"));
+        dto.setObservations(column(record, columns, "observations"));
+        String actif = column(record, columns, "actif");
+        if (actif != null) {
+            dto.setActif(Boolean.parseBoolean(actif));
+        }
+        return dto;
+    }
+
+    // Valeur d'une colonne, null si absente ou vide
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void finishReport(FournisseurImportReport report) {
+        report.getRows().sort(Comparator.comparingInt(FournisseurImportReport.RowResult::getRow));
+        log.info("Import terminé - Total: {}, Créés: {}, Rejetés: {}",
+                report.getTotal(), report.getCreated(), report.getRejected());
+    }
+
+    // État partagé entre les lots d'un même import
+    private static class ImportContext {
+        private final FournisseurImportReport report = new FournisseurImportReport();
+        private final Set<String> matricules = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.ChangeFeedPage;
+import com.example.hadilprojectspring.dto.FournisseurChangeDto;
+import com.example.hadilprojectspring.entity.FournisseurOutbox;
+import com.example.hadilprojectspring.exception.ChangeFeedExpiredException;
+import com.example.hadilprojectspring.repository.FournisseurOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Boîte d'envoi transactionnelle des fournisseurs et flux de changements incrémental.
+ * Chaque modification écrit sa ligne juste avant le commit, dans sa transaction. Un verrou consultatif
+ * de transaction ordonne ces écritures : les numéros de séquence deviennent visibles dans l'ordre croissant,
+ * donc un consommateur qui lit ?since=N ne peut pas manquer une ligne validée plus tard avec un numéro inférieur.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FournisseurOutboxService {
+    // Clé du verrou consultatif PostgreSQL (pg_advisory_xact_lock) propre à la boîte d'envoi
+    private static final long OUTBOX_LOCK_KEY = 0x466F75726EL;
+    // Marqueur "verrou déjà pris" lié à la transaction courante
+    private static final String LOCK_RESOURCE = FournisseurOutboxService.class.getName() + ".lock";
+
+    private final FournisseurOutboxRepository fournisseurOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    // Même transaction que la modification : la ligne est validée ou annulée avec elle
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(FournisseurChangeEvent event) {
+        lockOutbox();
+
+        FournisseurOutbox entry = new FournisseurOutbox();
+        entry.setFournisseurId(event.fournisseurId());
+        entry.setAction(event.action());
+        entry.setPayload(toJson(event.valeurApres()));
+        entry.setDateAction(event.dateAction());
+        fournisseurOutboxRepository.save(entry);
+    }
+
+    // Modification en masse : toutes les lignes du lot en une instruction, sous le même verrou
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordBulk(FournisseurBulkChangeEvent event) {
+        if (event.fournisseurIds().isEmpty()) {
+            return;
+        }
+        lockOutbox();
+        fournisseurOutboxRepository.insertBulk(event.idsArrayLiteral(), event.action().name(),
+                toJson(event.valeursApres()), event.dateAction());
+    }
+
+    // Changements de numéro de séquence strictement supérieur à since
+    @Transactional(readOnly = true)
+    public ChangeFeedPage<FournisseurChangeDto> getChanges(long since, int limit) {
+        requireRetained(since);
+
+        List<FournisseurOutbox> entries = fournisseurOutboxRepository.findByIdGreaterThanOrderByIdAsc(
+                since, Limit.of(limit + 1));
+
+        boolean hasMore = entries.size() > limit;
+        List<FournisseurChangeDto> changes = entries.stream()
+                .limit(limit)
+                .map(entry -> new FournisseurChangeDto(entry.getId(), entry.getFournisseurId(), entry.getAction(),
+                        entry.getPayload(), entry.getDateAction()))
+                .toList();
+
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ChangeFeedPage<>(changes, nextSince, hasMore);
+    }
+
+    // Dernier numéro de séquence écrit, 0 si aucun
+    @Transactional(readOnly = true)
+    public long getLatestSequence() {
+        Long latest = fournisseurOutboxRepository.findLatestSequence();
+        return latest != null ? latest : 0L;
+    }
+
+    // Changements postérieurs à since déjà purgés : les renvoyer partiellement masquerait le trou
+    @Transactional(readOnly = true)
+    public void requireRetained(long since) {
+        Long purgedThrough = fournisseurOutboxRepository.findPurgedThrough();
+        if (purgedThrough != null && since < purgedThrough) {
+            throw new ChangeFeedExpiredException("Position " + since + " antérieure à la purge du flux de changements, "
+                    + "resynchronisation complète nécessaire (since minimal: " + purgedThrough + ")", purgedThrough);
+        }
+    }
+
+    // Purge quotidienne des changements plus anciens que la rétention, par numéro de séquence
+    // pour que la borne enregistrée sépare exactement les changements perdus des changements conservés
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purge() {
+        Long purgeUpTo = fournisseurOutboxRepository.findLatestSequenceBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purgeUpTo == null) {
+            log.info("Purge de la boîte d'envoi des fournisseurs: aucun changement à supprimer");
+            return;
+        }
+        fournisseurOutboxRepository.advancePurgedThrough(purgeUpTo);
+        int deleted = fournisseurOutboxRepository.deleteUpTo(purgeUpTo);
+        log.info("Purge de la boîte d'envoi des fournisseurs: {} changements supprimés (jusqu'à la séquence {})",
+                deleted, purgeUpTo);
+    }
+
+    // Verrou pris une seule fois par transaction, libéré par PostgreSQL au commit ou à l'annulation
+    private void lockOutbox() {
+        if (TransactionSynchronizationManager.hasResource(LOCK_RESOURCE)) {
+            return;
+        }
+        entityManager.createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(:key)", Integer.class)
+                .setParameter("key", OUTBOX_LOCK_KEY)
+                .getSingleResult();
+
+        TransactionSynchronizationManager.bindResource(LOCK_RESOURCE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LOCK_RESOURCE);
+            }
+        });
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation d'un changement de fournisseur impossible", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.config.CacheConfig;
+import com.example.hadilprojectspring.dto.ApiResponse;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Réponses JSON déjà sérialisées des collections interrogées en boucle par les front-ends, avec leur ETag.
+// Rangées dans le cache des fournisseurs actifs : invalidées par les mêmes écritures.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FournisseurResponseCache {
+    private final FournisseurService fournisseurService;
+    private final ObjectMapper objectMapper;
+
+    // Réponse complète de GET /api/fournisseurs/active
+    @Cacheable(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, key = "'json'")
+    public SerializedResponse getActiveFournisseurs() {
+        List<FournisseurResponseDto> activeFournisseurs = fournisseurService.getActiveFournisseurs();
+        log.info("Sérialisation de la liste des fournisseurs actifs ({} éléments)", activeFournisseurs.size());
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success(
+                    "Fournisseurs actifs récupérés avec succès",
+                    activeFournisseurs
+            ));
+            return new SerializedResponse(body, etag(activeFournisseurs));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation des fournisseurs actifs impossible", e);
+        }
+    }
+
+    // ETag faible d'un fournisseur : la version change à chaque écriture, mais le corps (horodatage
+    // de l'ApiResponse) diffère d'une réponse à l'autre, il n'est donc pas identique octet pour octet
+    public static String etag(FournisseurResponseDto fournisseur) {
+        return "W/\"" + fournisseur.getId() + "-" + versionOf(fournisseur) + "\"";
+    }
+
+    // ETag faible d'une collection : empreinte des couples (id, version) dans l'ordre de la liste.
+    // Faible car Tomcat ne compresse pas une réponse portant un ETag fort (server.compression)
+    public static String etag(List<FournisseurResponseDto> fournisseurs) {
+        return "W/\"" + digest(fournisseurs) + "\"";
+    }
+
+    // ETag faible d'une autre représentation (CBOR, Smile) de la même collection : sérialisée à chaque requête
+    public static String etag(List<FournisseurResponseDto> fournisseurs, MediaType representation) {
+        return "W/\"" + digest(fournisseurs) + "-" + representation.getSubtype() + "\"";
+    }
+
+    private static String digest(List<FournisseurResponseDto> fournisseurs) {
+        StringBuilder versions = new StringBuilder();
+        for (FournisseurResponseDto fournisseur : fournisseurs) {
+            versions.append(fournisseur.getId()).append(':').append(versionOf(fournisseur)).append(';');
+        }
+        return DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long versionOf(FournisseurResponseDto fournisseur) {
+        return fournisseur.getVersion() != null ? fournisseur.getVersion() : 0L;
+    }
+
+    public record SerializedResponse(byte[] body, String etag) {
+    }
+}
@@ -1,216 +1,483 @@
 package com.example.hadilprojectspring.service;
+import com.example.hadilprojectspring.config.CacheConfig;
+import com.example.hadilprojectspring.dto.CursorPage;
 import com.example.hadilprojectspring.dto.FournisseurRequestDto;
 import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.dto.FournisseurStatusUpdateDto;
+import com.example.hadilprojectspring.dto.FournisseurSummaryDto;
+import com.example.hadilprojectspring.dto.PagedResponse;
+import com.example.hadilprojectspring.dto.PagedResponse.TotalKind;
 import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.example.hadilprojectspring.exception.BadRequestException;
 import com.example.hadilprojectspring.exception.ResourceNotFoundException;
 import com.example.hadilprojectspring.exception.DuplicateResourceException;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import com.example.hadilprojectspring.repository.FournisseurAuditRepository;
 import com.example.hadilprojectspring.repository.FournisseurRepository;
+import com.example.hadilprojectspring.repository.FournisseurSortField;
+import com.example.hadilprojectspring.repository.FournisseurSpecifications;
+import com.example.hadilprojectspring.repository.MatchMode;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Timed(value = "fournisseur.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class FournisseurService {
     private  final FournisseurRepository fournisseurRepository;
+    private final FournisseurMapper fournisseurMapper;
+    private final FournisseurAuditRepository fournisseurAuditRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Créer un fournisseur
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
     public FournisseurResponseDto createFournisseur(FournisseurRequestDto requestDto) {
         log.info("Création d'un nouveau fournisseur avec matricule: {}", requestDto.getMatricule());
 
-        // Vérifier l'unicité du matricule
-        if (fournisseurRepository.existsByMatricule(requestDto.getMatricule())) {
-            throw new DuplicateResourceException("Un fournisseur avec ce matricule existe déjà");
-        }
-
-        // Vérifier l'unicité de l'email
-        if (fournisseurRepository.existsByEmail(requestDto.getEmail())) {
-            throw new DuplicateResourceException("Un fournisseur avec cet email existe déjà");
-        }
+        // Unicité du matricule et de l'email garantie par les contraintes de la base
+        Fournisseur fournisseur = fournisseurMapper.mapToEntity(requestDto);
+        Fournisseur savedFournisseur = saveUnique(fournisseur,
+                "Un fournisseur avec ce matricule existe déjà",
+                "Un fournisseur avec cet email existe déjà");
 
-        Fournisseur fournisseur = mapToEntity(requestDto);
-        Fournisseur savedFournisseur = fournisseurRepository.save(fournisseur);
+        FournisseurResponseDto responseDto = fournisseurMapper.mapToResponseDto(savedFournisseur);
+        eventPublisher.publishEvent(FournisseurChangeEvent.of(savedFournisseur.getId(), Action.CREATION, null, responseDto));
 
         log.info("Fournisseur créé avec succès, ID: {}", savedFournisseur.getId());
-        return mapToResponseDto(savedFournisseur);
+        return responseDto;
     }
 
-    // Obtenir tous les fournisseurs avec pagination
+    // Obtenir tous les fournisseurs avec pagination (premières pages en cache)
     @Transactional(readOnly = true)
-    public Page<FournisseurResponseDto> getAllFournisseurs(int page, int size, String sortBy, String sortDir) {
+    @Cacheable(cacheNames = CacheConfig.FOURNISSEURS_PAGES,
+            key = "{#page, #size, #sortBy, #sortDir.toLowerCase(), #totalKind}",
+            condition = "#page < T(com.example.hadilprojectspring.config.CacheConfig).MAX_CACHED_PAGE")
+    public PagedResponse<FournisseurResponseDto> getAllFournisseurs(int page, int size, FournisseurSortField sortBy, String sortDir,
+                                                                    TotalKind totalKind) {
         log.info("Récupération des fournisseurs - Page: {}, Taille: {}", page, size);
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Sort sort = sortBy.toSort(direction(sortDir));
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Fournisseur> fournisseurs = fournisseurRepository.findAll(pageable);
+        if (totalKind == TotalKind.EXACT) {
+            return PagedResponse.of(fournisseurRepository.findAll(pageable).map(fournisseurMapper::mapToResponseDto));
+        }
 
-        return fournisseurs.map(this::mapToResponseDto);
+        Slice<Fournisseur> fournisseurs = fournisseurRepository.findSlice(FournisseurSpecifications.all(), pageable);
+        return withTotal(fournisseurs.map(fournisseurMapper::mapToResponseDto), totalKind, "all",
+                fournisseurRepository::count, fournisseurRepository::estimateCount);
     }
 
     // Obtenir un fournisseur par ID
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.FOURNISSEURS, key = "#id")
     public FournisseurResponseDto getFournisseurById(Long id) {
         log.info("Récupération du fournisseur avec ID: {}", id);
 
         Fournisseur fournisseur = fournisseurRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id));
 
-        return mapToResponseDto(fournisseur);
+        return fournisseurMapper.mapToResponseDto(fournisseur);
     }
 
     // Mettre à jour un fournisseur
+    @Caching(put = @CachePut(cacheNames = CacheConfig.FOURNISSEURS, key = "#id"), evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
     public FournisseurResponseDto updateFournisseur(Long id, FournisseurRequestDto requestDto) {
         log.info("Mise à jour du fournisseur avec ID: {}", id);
 
         Fournisseur existingFournisseur = fournisseurRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id));
 
-        // Vérifier l'unicité du matricule (excluant le fournisseur actuel)
-        if (fournisseurRepository.existsByMatriculeAndIdNot(requestDto.getMatricule(), id)) {
-            throw new DuplicateResourceException("Un autre fournisseur avec ce matricule existe déjà");
+        // Version connue du client différente de la version en base : modification concurrente
+        if (requestDto.getVersion() != null && !requestDto.getVersion().equals(existingFournisseur.getVersion())) {
+            log.warn("Conflit de version sur le fournisseur {} (attendue {}, actuelle {})",
+                    id, requestDto.getVersion(), existingFournisseur.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Fournisseur.class, id);
         }
 
-        // Vérifier l'unicité de l'email (excluant le fournisseur actuel)
-        if (fournisseurRepository.existsByEmailAndIdNot(requestDto.getEmail(), id)) {
-            throw new DuplicateResourceException("Un autre fournisseur avec cet email existe déjà");
-        }
+        FournisseurResponseDto before = fournisseurMapper.mapToResponseDto(existingFournisseur);
+        fournisseurMapper.updateFournisseurFields(existingFournisseur, requestDto);
+        Fournisseur updatedFournisseur = saveUnique(existingFournisseur,
+                "Un autre fournisseur avec ce matricule existe déjà",
+                "Un autre fournisseur avec cet email existe déjà");
 
-        updateFournisseurFields(existingFournisseur, requestDto);
-        Fournisseur updatedFournisseur = fournisseurRepository.save(existingFournisseur);
+        FournisseurResponseDto responseDto = fournisseurMapper.mapToResponseDto(updatedFournisseur);
+        eventPublisher.publishEvent(FournisseurChangeEvent.of(id, Action.MODIFICATION, before, responseDto));
 
         log.info("Fournisseur mis à jour avec succès, ID: {}", id);
-        return mapToResponseDto(updatedFournisseur);
+        return responseDto;
     }
 
     // Supprimer un fournisseur
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
     public void deleteFournisseur(Long id) {
         log.info("Suppression du fournisseur avec ID: {}", id);
 
-        if (!fournisseurRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id);
-        }
+        // Chargement nécessaire de toute façon à la suppression JPA : il fournit la valeur avant pour l'audit
+        Fournisseur fournisseur = fournisseurRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id));
 
-        fournisseurRepository.deleteById(id);
+        fournisseurRepository.delete(fournisseur);
+        eventPublisher.publishEvent(FournisseurChangeEvent.of(id, Action.SUPPRESSION,
+                fournisseurMapper.mapToResponseDto(fournisseur), null));
         log.info("Fournisseur supprimé avec succès, ID: {}", id);
     }
 
     // Désactiver/Activer un fournisseur
+    @Caching(put = @CachePut(cacheNames = CacheConfig.FOURNISSEURS, key = "#id"), evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
     public FournisseurResponseDto toggleFournisseurStatus(Long id) {
         log.info("Changement du statut du fournisseur avec ID: {}", id);
 
-        Fournisseur fournisseur = fournisseurRepository.findById(id)
+        Fournisseur updatedFournisseur = fournisseurRepository.toggleActif(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id));
 
-        fournisseur.setActif(!fournisseur.getActif());
-        Fournisseur updatedFournisseur = fournisseurRepository.save(fournisseur);
+        eventPublisher.publishEvent(FournisseurChangeEvent.of(id, Action.CHANGEMENT_STATUT,
+                Map.of("actif", !updatedFournisseur.getActif()), Map.of("actif", updatedFournisseur.getActif())));
 
         log.info("Statut du fournisseur changé: {}, ID: {}", updatedFournisseur.getActif(), id);
-        return mapToResponseDto(updatedFournisseur);
+        return fournisseurMapper.mapToResponseDto(updatedFournisseur);
+    }
+
+    // Activer/Désactiver en masse, en une seule instruction UPDATE
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.FOURNISSEURS_COUNTS, allEntries = true)
+    })
+    public int updateFournisseursStatus(FournisseurStatusUpdateDto statusUpdate) {
+        boolean actif = statusUpdate.getActif();
+        List<Long> updatedIds;
+
+        if (statusUpdate.getIds() != null && !statusUpdate.getIds().isEmpty()) {
+            log.info("Changement de statut en masse ({}) pour {} identifiants", actif, statusUpdate.getIds().size());
+            updatedIds = fournisseurRepository.updateActifByIds(statusUpdate.getIds(), actif);
+        } else {
+            String matricule = emptyToNull(statusUpdate.getMatricule());
+            String raisonSociale = emptyToNull(statusUpdate.getRaisonSociale());
+            String email = emptyToNull(statusUpdate.getEmail());
+
+            // Pas de changement de statut sur toute la table sans filtre explicite
+            if (matricule == null && raisonSociale == null && email == null) {
+                throw new BadRequestException("Des identifiants ou au moins un critère sont requis");
+            }
+
+            MatchMode matchMode = statusUpdate.getMatchMode() != null
+                    ? MatchMode.from(statusUpdate.getMatchMode()) : MatchMode.CONTAINS;
+            log.info("Changement de statut en masse ({}) par critères ({})", actif, matchMode);
+            updatedIds = fournisseurRepository.updateActifByCriteria(
+                    likePatternOrNull(matricule, matchMode),
+                    likePatternOrNull(raisonSociale, matchMode),
+                    likePatternOrNull(email, matchMode),
+                    actif);
+        }
+
+        // Un seul événement pour les fournisseurs réellement modifiés : audit et flux de changements
+        // l'écrivent en une instruction chacun
+        eventPublisher.publishEvent(FournisseurBulkChangeEvent.of(updatedIds, Action.CHANGEMENT_STATUT,
+                Map.of("actif", !actif), Map.of("actif", actif)));
+
+        log.info("{} fournisseur(s) mis à jour", updatedIds.size());
+        return updatedIds.size();
     }
 
     // Recherche par critères
     @Transactional(readOnly = true)
-    public Page<FournisseurResponseDto> searchFournisseurs(
-            String matricule, String raisonSociale, String email, Boolean actif,
-            int page, int size, String sortBy, String sortDir) {
+    public PagedResponse<FournisseurResponseDto> searchFournisseurs(
+            String matricule, String raisonSociale, String email, Boolean actif, MatchMode matchMode,
+            int page, int size, FournisseurSortField sortBy, String sortDir, TotalKind totalKind) {
 
         log.info("Recherche de fournisseurs avec critères");
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Sort sort = sortBy.toSort(direction(sortDir));
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Fournisseur> fournisseurs = fournisseurRepository.findByCriteria(
-                matricule, raisonSociale, email, actif, pageable);
+        Specification<Fournisseur> specification =
+                FournisseurSpecifications.matchesCriteria(matricule, raisonSociale, email, actif, matchMode);
+        if (totalKind == TotalKind.EXACT) {
+            return PagedResponse.of(fournisseurRepository.findAll(specification, pageable)
+                    .map(fournisseurMapper::mapToResponseDto));
+        }
 
-        return fournisseurs.map(this::mapToResponseDto);
+        // Pas d'estimation possible pour une spécification : le mode ESTIMATED se replie sur le total en cache
+        Slice<Fournisseur> fournisseurs = fournisseurRepository.findSlice(specification, pageable);
+        return withTotal(fournisseurs.map(fournisseurMapper::mapToResponseDto), totalKind,
+                new SimpleKey("criteria", matricule, raisonSociale, email, actif, matchMode),
+                () -> fournisseurRepository.count(specification), null);
     }
 
     // Recherche globale
     @Transactional(readOnly = true)
-    public Page<FournisseurResponseDto> globalSearch(String searchTerm, int page, int size) {
+    public PagedResponse<FournisseurResponseDto> globalSearch(String searchTerm, int page, int size,
+                                                              TotalKind totalKind) {
         log.info("Recherche globale avec terme: {}", searchTerm);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateCreation").descending());
-        Page<Fournisseur> fournisseurs = fournisseurRepository.findByGlobalSearch(searchTerm, pageable);
+        // Le tri par pertinence est porté par la requête
+        Pageable pageable = PageRequest.of(page, size);
+        String pattern = FournisseurSpecifications.escapeLikePattern(searchTerm);
+        if (totalKind == TotalKind.EXACT) {
+            return PagedResponse.of(fournisseurRepository.findByGlobalSearch(searchTerm, pattern, pageable)
+                    .map(fournisseurMapper::mapToResponseDto));
+        }
+
+        Slice<Fournisseur> fournisseurs = fournisseurRepository.findGlobalSearchSlice(searchTerm, pattern, pageable);
+        return withTotal(fournisseurs.map(fournisseurMapper::mapToResponseDto), totalKind,
+                new SimpleKey("global", pattern.toLowerCase()),
+                () -> fournisseurRepository.countGlobalSearch(pattern),
+                () -> fournisseurRepository.estimateGlobalSearchCount(pattern));
+    }
+
+    // Obtenir les fournisseurs par curseur (keyset, sans requête COUNT)
+    @Transactional(readOnly = true)
+    public CursorPage<FournisseurResponseDto> getFournisseursByCursor(String cursor, int size, String sortDir) {
+        log.info("Récupération des fournisseurs par curseur - Taille: {}", size);
+
+        return scroll(FournisseurSpecifications.all(), cursor, size, sortDir);
+    }
+
+    // Recherche par critères par curseur
+    @Transactional(readOnly = true)
+    public CursorPage<FournisseurResponseDto> searchFournisseursByCursor(
+            String matricule, String raisonSociale, String email, Boolean actif, MatchMode matchMode,
+            String cursor, int size, String sortDir) {
+
+        log.info("Recherche de fournisseurs par critères avec curseur");
+
+        return scroll(FournisseurSpecifications.matchesCriteria(matricule, raisonSociale, email, actif, matchMode),
+                cursor, size, sortDir);
+    }
+
+    // Recherche globale par curseur (triée par date de création plutôt que par pertinence)
+    @Transactional(readOnly = true)
+    public CursorPage<FournisseurResponseDto> globalSearchByCursor(String searchTerm, String cursor, int size) {
+        log.info("Recherche globale par curseur avec terme: {}", searchTerm);
+
+        return scroll(FournisseurSpecifications.globalSearch(FournisseurSpecifications.escapeLikePattern(searchTerm)), cursor, size, "desc");
+    }
 
-        return fournisseurs.map(this::mapToResponseDto);
+    // Fournisseur réduit aux attributs demandés (API GraphQL)
+    @Transactional(readOnly = true)
+    public FournisseurResponseDto getFournisseurColumns(Long id, Collection<String> attributes) {
+        return fournisseurRepository.findColumns(FournisseurSpecifications.hasId(id), attributes, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Fournisseur non trouvé avec l'ID: " + id));
+    }
+
+    // Page par curseur réduite aux attributs demandés (API GraphQL) ; dateCreation et id sont toujours lus pour le curseur
+    @Transactional(readOnly = true)
+    public CursorPage<FournisseurResponseDto> scrollFournisseurColumns(
+            String matricule, String raisonSociale, String email, Boolean actif, MatchMode matchMode,
+            Collection<String> attributes, String cursor, int size) {
+
+        Sort.Direction direction = Sort.Direction.DESC;
+        Specification<Fournisseur> specification = afterCursor(
+                FournisseurSpecifications.matchesCriteria(matricule, raisonSociale, email, actif, matchMode),
+                cursor, direction);
+
+        Slice<FournisseurResponseDto> slice = fournisseurRepository.findColumns(specification, attributes,
+                PageRequest.of(0, size, FournisseurSortField.DATE_CREATION.toSort(direction)));
+        List<FournisseurResponseDto> content = slice.getContent();
+
+        String nextCursor = slice.hasNext() ? FournisseurCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    // Dernières entrées d'audit de plusieurs fournisseurs en une requête, groupées par fournisseur
+    @Transactional(readOnly = true)
+    public Map<Long, List<FournisseurAudit>> getLatestAudits(Collection<Long> fournisseurIds, int limit) {
+        return fournisseurAuditRepository.findLatestByFournisseurIds(fournisseurIds, limit).stream()
+                .collect(Collectors.groupingBy(FournisseurAudit::getFournisseurId));
     }
 
     // Obtenir les fournisseurs actifs
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, key = "'all'")
     public List<FournisseurResponseDto> getActiveFournisseurs() {
         log.info("Récupération des fournisseurs actifs");
 
         List<Fournisseur> activeFournisseurs = fournisseurRepository.findByActifTrue();
         return activeFournisseurs.stream()
-                .map(this::mapToResponseDto)
+                .map(fournisseurMapper::mapToResponseDto)
                 .collect(Collectors.toList());
     }
 
-    // Méthodes utilitaires de mapping
-    private Fournisseur mapToEntity(FournisseurRequestDto requestDto) {
-        Fournisseur fournisseur = new Fournisseur();
-        fournisseur.setMatricule(requestDto.getMatricule());
-        fournisseur.setRaisonSociale(requestDto.getRaisonSociale());
-        fournisseur.setAdresse(requestDto.getAdresse());
-        fournisseur.setCodeTva(requestDto.getCodeTva());
-        fournisseur.setEmail(requestDto.getEmail());
-        fournisseur.setTelephone1(requestDto.getTelephone1());
-        fournisseur.setTelephone2(requestDto.getTelephone2());
-        fournisseur.setFax(requestDto.getFax());
-        fournisseur.setResponsableContact(requestDto.getResponsableContact());
-        fournisseur.setDevise(requestDto.getDevise());
-        fournisseur.setObservations(requestDto.getObservations());
-        fournisseur.setActif(requestDto.getActif());
-        return fournisseur;
-    }
-
-    private FournisseurResponseDto mapToResponseDto(Fournisseur fournisseur) {
-        FournisseurResponseDto responseDto = new FournisseurResponseDto();
-        responseDto.setId(fournisseur.getId());
-        responseDto.setMatricule(fournisseur.getMatricule());
-        responseDto.setRaisonSociale(fournisseur.getRaisonSociale());
-        responseDto.setAdresse(fournisseur.getAdresse());
-        responseDto.setCodeTva(fournisseur.getCodeTva());
-        responseDto.setEmail(fournisseur.getEmail());
-        responseDto.setTelephone1(fournisseur.getTelephone1());
-        responseDto.setTelephone2(fournisseur.getTelephone2());
-        responseDto.setFax(fournisseur.getFax());
-        responseDto.setResponsableContact(fournisseur.getResponsableContact());
-        responseDto.setDevise(fournisseur.getDevise());
-        responseDto.setObservations(fournisseur.getObservations());
-        responseDto.setActif(fournisseur.getActif());
-        responseDto.setDateCreation(fournisseur.getDateCreation());
-        responseDto.setDateModification(fournisseur.getDateModification());
-        return responseDto;
+    // Liste paginée en vue résumée, projetée directement en DTO par la requête
+    @Transactional(readOnly = true)
+    public Page<FournisseurSummaryDto> getFournisseurSummaries(int page, int size, FournisseurSortField sortBy, String sortDir) {
+        log.info("Récupération des fournisseurs (résumé) - Page: {}, Taille: {}", page, size);
+
+        Sort sort = sortBy.toSort(direction(sortDir));
+
+        return fournisseurRepository.findSummaries(FournisseurSpecifications.all(), PageRequest.of(page, size, sort));
+    }
+
+    // Recherche par critères en vue résumée
+    @Transactional(readOnly = true)
+    public Page<FournisseurSummaryDto> searchFournisseurSummaries(
+            String matricule, String raisonSociale, String email, Boolean actif, MatchMode matchMode,
+            int page, int size, FournisseurSortField sortBy, String sortDir) {
+
+        log.info("Recherche de fournisseurs (résumé) avec critères");
+
+        Sort sort = sortBy.toSort(direction(sortDir));
+
+        return fournisseurRepository.findSummaries(
+                FournisseurSpecifications.matchesCriteria(matricule, raisonSociale, email, actif, matchMode),
+                PageRequest.of(page, size, sort));
+    }
+
+    // Fournisseurs actifs en vue résumée (même cache que la liste complète, clé distincte)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.FOURNISSEURS_ACTIFS, key = "'summary'")
+    public List<FournisseurSummaryDto> getActiveFournisseurSummaries() {
+        log.info("Récupération des fournisseurs actifs (résumé)");
+
+        return fournisseurRepository.findActiveSummaries();
     }
 
-    private void updateFournisseurFields(Fournisseur existingFournisseur, FournisseurRequestDto requestDto) {
-        existingFournisseur.setMatricule(requestDto.getMatricule());
-        existingFournisseur.setRaisonSociale(requestDto.getRaisonSociale());
-        existingFournisseur.setAdresse(requestDto.getAdresse());
-        existingFournisseur.setCodeTva(requestDto.getCodeTva());
-        existingFournisseur.setEmail(requestDto.getEmail());
-        existingFournisseur.setTelephone1(requestDto.getTelephone1());
-        existingFournisseur.setTelephone2(requestDto.getTelephone2());
-        existingFournisseur.setFax(requestDto.getFax());
-        existingFournisseur.setResponsableContact(requestDto.getResponsableContact());
-        existingFournisseur.setDevise(requestDto.getDevise());
-        existingFournisseur.setObservations(requestDto.getObservations());
-        existingFournisseur.setActif(requestDto.getActif());
+    // Complète une page lue sans COUNT avec le total demandé ; une estimation indisponible
+    // (table jamais analysée, recherche par critères) se replie sur le total exact en cache
+    private <T> PagedResponse<T> withTotal(Slice<T> slice, TotalKind totalKind, Object countKey,
+                                           Supplier<Long> exactCount, Supplier<Long> estimatedCount) {
+        if (totalKind == TotalKind.NONE) {
+            return PagedResponse.of(slice, TotalKind.NONE, null);
+        }
+        if (totalKind == TotalKind.ESTIMATED && estimatedCount != null) {
+            Long estimate = estimatedCount.get();
+            if (estimate != null) {
+                return PagedResponse.of(slice, TotalKind.ESTIMATED, estimate);
+            }
+        }
+        Cache counts = cacheManager.getCache(CacheConfig.FOURNISSEURS_COUNTS);
+        Long total = counts != null ? counts.get(countKey, exactCount::get) : exactCount.get();
+        return PagedResponse.of(slice, TotalKind.CACHED, total);
+    }
+
+    private Sort.Direction direction(String sortDir) {
+        return sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private static String likePatternOrNull(String value, MatchMode matchMode) {
+        return value != null ? FournisseurSpecifications.likePattern(value, matchMode) : null;
+    }
+
+    private String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // Écrit immédiatement (flush) pour que les contraintes d'unicité soient vérifiées par la base,
+    // sans requêtes d'existence préalables ni fenêtre de concurrence entre vérification et écriture
+    private Fournisseur saveUnique(Fournisseur fournisseur, String matriculeMessage, String emailMessage) {
+        try {
+            return fournisseurRepository.saveAndFlush(fournisseur);
+        } catch (DataIntegrityViolationException e) {
+            String field = duplicatedField(e);
+            if ("matricule".equals(field)) {
+                throw new DuplicateResourceException(field, matriculeMessage);
+            }
+            if ("email".equals(field)) {
+                throw new DuplicateResourceException(field, emailMessage);
+            }
+            throw e;
+        }
+    }
+
+    // Champ concerné par une violation d'unicité : nom de la contrainte, sinon détail PostgreSQL "Key (email)=..."
+    private String duplicatedField(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String constraintName = violation.getConstraintName().toLowerCase();
+            if (constraintName.contains(Fournisseur.UK_MATRICULE)) {
+                return "matricule";
+            }
+            if (constraintName.contains(Fournisseur.UK_EMAIL)) {
+                return "email";
+            }
+        }
+        String detail = e.getMostSpecificCause().getMessage();
+        if (detail != null && detail.contains("(matricule)")) {
+            return "matricule";
+        }
+        if (detail != null && detail.contains("(email)")) {
+            return "email";
+        }
+        return null;
+    }
+
+    // Lit la page qui suit le curseur dans l'ordre (dateCreation, id)
+    private CursorPage<FournisseurResponseDto> scroll(Specification<Fournisseur> specification,
+                                                      String cursor, int size, String sortDir) {
+        Sort.Direction direction = direction(sortDir);
+        Sort sort = FournisseurSortField.DATE_CREATION.toSort(direction);
+        specification = afterCursor(specification, cursor, direction);
+
+        Slice<Fournisseur> slice = fournisseurRepository.findSlice(specification, PageRequest.of(0, size, sort));
+        List<Fournisseur> content = slice.getContent();
+
+        String nextCursor = slice.hasNext() ? FournisseurCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(
+                content.stream().map(fournisseurMapper::mapToResponseDto).collect(Collectors.toList()),
+                content.size(),
+                slice.hasNext(),
+                nextCursor);
+    }
+
+    // Restreint la spécification aux éléments qui suivent le curseur (s'il est fourni)
+    private Specification<Fournisseur> afterCursor(Specification<Fournisseur> specification,
+                                                   String cursor, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return specification;
+        }
+        FournisseurCursor position = FournisseurCursor.decode(cursor);
+        return specification.and(FournisseurSpecifications.after(position.dateCreation(), position.id(), direction));
     }
 }
@@ -0,0 +1,166 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.RefreshToken;
+import com.example.hadilprojectspring.exception.InvalidTokenException;
+import com.example.hadilprojectspring.repository.RefreshTokenRepository;
+import com.example.hadilprojectspring.security.JwtUtils;
+import com.example.hadilprojectspring.security.JwtUtils.AccessToken;
+import com.example.hadilprojectspring.security.TokenRevocationList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+// Jetons de rafraîchissement rotatifs : chaque utilisation consomme le jeton et en émet un nouveau dans la même famille.
+// Présenter un jeton déjà consommé (vol probable) révoque toute la famille et ses tokens d'accès encore valides.
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final JwtUtils jwtUtils;
+    private final UserDetailsService userDetailsService;
+    private final Duration refreshTokenValidity;
+    private final Counter reuseDetected;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationList tokenRevocationList,
+                               JwtUtils jwtUtils,
+                               UserDetailsService userDetailsService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokenValidity = Duration.ofMillis(refreshExpirationMs);
+        this.reuseDetected = meterRegistry.counter("jwt.refresh.reuse.detected");
+    }
+
+    /**
+     * Ouvre une nouvelle famille (connexion) : token d'accès + jeton de rafraîchissement
+     */
+    @Transactional
+    public TokenPair issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consomme le jeton de rafraîchissement et émet une nouvelle paire dans la même famille
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public TokenPair rotate(String rawRefreshToken) {
+        String tokenHash = hash(rawRefreshToken);
+        Optional<RefreshToken> consumed = refreshTokenRepository.consume(tokenHash, LocalDateTime.now());
+        if (consumed.isEmpty()) {
+            // Jeton connu mais déjà consommé ou révoqué : réutilisation
+            refreshTokenRepository.findByTokenHash(tokenHash)
+                    .filter(token -> token.getRevokedAt() != null)
+                    .ifPresent(this::onReuse);
+            throw new InvalidTokenException("Jeton de rafraîchissement invalide ou expiré");
+        }
+        RefreshToken token = consumed.get();
+
+        UserDetails user = userDetailsService.loadUserByUsername(token.getUsername());
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            revokeFamily(token.getFamilyId());
+            throw new InvalidTokenException("Compte désactivé");
+        }
+        return issue(token.getUsername(), token.getFamilyId());
+    }
+
+    /**
+     * Déconnexion : révoque le token d'accès courant et la famille du jeton de rafraîchissement
+     */
+    @Transactional
+    public void logout(String rawRefreshToken, String accessTokenJti, Date accessTokenExpiration) {
+        tokenRevocationList.revoke(accessTokenJti, accessTokenExpiration);
+        if (rawRefreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId()));
+        }
+    }
+
+    /**
+     * Purge quotidienne des jetons et révocations expirés
+     */
+    @Scheduled(cron = "${app.jwt.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purge() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        int revocations = tokenRevocationList.purgeExpired();
+        log.info("Purge des jetons : {} jetons de rafraîchissement et {} révocations expirés supprimés",
+                deleted, revocations);
+    }
+
+    private TokenPair issue(String username, String familyId) {
+        AccessToken accessToken = jwtUtils.issueAccessToken(username);
+        String rawRefreshToken = newRawToken();
+        LocalDateTime now = LocalDateTime.now();
+
+        refreshTokenRepository.save(new RefreshToken(null, hash(rawRefreshToken), username, familyId,
+                accessToken.jti(), LocalDateTime.ofInstant(accessToken.expiration().toInstant(), ZoneId.systemDefault()),
+                now.plus(refreshTokenValidity), now, null));
+        return new TokenPair(username, accessToken, rawRefreshToken, refreshTokenValidity.toSeconds());
+    }
+
+    private void onReuse(RefreshToken reused) {
+        reuseDetected.increment();
+        log.warn("Réutilisation d'un jeton de rafraîchissement de {} : révocation de la famille {}",
+                reused.getUsername(), reused.getFamilyId());
+        revokeFamily(reused.getFamilyId());
+    }
+
+    private void revokeFamily(String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeFamily(familyId, now);
+        for (RefreshToken token : refreshTokenRepository.findByFamilyIdAndAccessExpiresAtAfter(familyId, now)) {
+            tokenRevocationList.revoke(token.getAccessTokenJti(),
+                    Date.from(token.getAccessExpiresAt().atZone(ZoneId.systemDefault()).toInstant()));
+        }
+    }
+
+    private static String newRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Empreinte stockée en base : un vol de la table ne donne pas de jetons utilisables
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Paire émise à la connexion ou à la rotation
+     */
+    public record TokenPair(String username, AccessToken accessToken, String refreshToken, long refreshExpiresInSeconds) {
+    }
+}
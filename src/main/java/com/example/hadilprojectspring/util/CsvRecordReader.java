@@ -0,0 +1,86 @@
+package com.example.hadilprojectspring.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur CSV minimal (RFC 4180) : séparateur virgule, champs entre guillemets pouvant contenir
+ * des virgules, des guillemets doublés et des sauts de ligne. Lit un enregistrement à la fois.
+ */
+public class CsvRecordReader {
+
+    private final Reader reader;
+    private int lookahead = -2;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lit l'enregistrement suivant, ou retourne null en fin de fichier
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    break;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        lookahead = c;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.hadilprojectspring.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou (algorithme GCRA) : tout l'état tient dans un AtomicLong, l'instant théorique
+ * d'arrivée (TAT). Une demande acceptée le repousse d'un intervalle d'émission ; elle est refusée s'il dépasse
+ * maintenant + capacité x intervalle. Équivaut à un seau de `capacity` jetons rechargé d'un jeton par intervalle.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(int capacity, long emissionIntervalNanos, long nowNanos) {
+        if (capacity < 1 || emissionIntervalNanos < 1) {
+            throw new IllegalArgumentException("Capacité et intervalle d'émission doivent être positifs");
+        }
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstNanos = capacity * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consomme un jeton : renvoie 0 si la demande est acceptée, sinon le délai d'attente en nanosecondes
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long theoreticalArrival = theoreticalArrivalNanos.get();
+            long next = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Seau entièrement rechargé : il peut être supprimé sans effet sur les décisions futures
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
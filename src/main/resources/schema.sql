@@ -0,0 +1,94 @@
+-- Objets PostgreSQL complémentaires au schéma généré par Hibernate (ddl-auto=update).
+-- Exécuté à chaque démarrage après Hibernate : toutes les instructions doivent être idempotentes.
+
+-- =======================
+-- Recherche globale des fournisseurs
+-- =======================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() n'est pas IMMUTABLE et ne peut donc pas être utilisée dans un index
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent', $1) $$;
+
+-- Document de recherche normalisé (minuscules, sans accents) : matricule, raison sociale, email, responsable
+CREATE OR REPLACE FUNCTION fournisseur_search_document(text, text, text, text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$ SELECT f_unaccent(lower(coalesce($1, '') || ' | ' || coalesce($2, '') || ' | ' || coalesce($3, '') || ' | ' || coalesce($4, ''))) $$;
+
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_search_trgm ON fournisseurs
+    USING gin (fournisseur_search_document(matricule, raison_sociale, email, responsable_contact) gin_trgm_ops);
+
+-- =======================
+-- Identifiants des fournisseurs
+-- =======================
+
+-- Séquence à allocation groupée (allocationSize = 50) : on l'aligne sur les identifiants déjà attribués
+-- par l'ancienne colonne IDENTITY, sans jamais la faire reculer
+SELECT setval('fournisseurs_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM fournisseurs) + 50,
+    (SELECT last_value FROM fournisseurs_seq)));
+
+-- =======================
+-- Unicité des fournisseurs
+-- =======================
+
+-- Contrainte uk_fournisseurs_email (Fournisseur.UK_EMAIL) : ddl-auto=update ne l'ajoute pas, sans erreur,
+-- si la table contient déjà des doublons. Index unique du même nom (sans effet s'il existe déjà) : le démarrage
+-- échoue tant que les doublons n'ont pas été corrigés, au lieu de laisser l'email sans contrainte
+CREATE UNIQUE INDEX IF NOT EXISTS uk_fournisseurs_email ON fournisseurs (email);
+
+-- =======================
+-- Verrouillage optimiste des fournisseurs
+-- =======================
+
+-- Colonne version ajoutée par Hibernate (nullable) : initialisation des lignes existantes,
+-- valeur par défaut pour les écritures SQL directes
+UPDATE fournisseurs SET version = 0 WHERE version IS NULL;
+ALTER TABLE fournisseurs ALTER COLUMN version SET DEFAULT 0;
+
+-- =======================
+-- Recherche par critères des fournisseurs
+-- =======================
+
+-- lower(...) text_pattern_ops : sert l'égalité (EXACT) comme le préfixe (PREFIX, LIKE 'abc%')
+-- quelle que soit la collation de la base
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_matricule_lower ON fournisseurs (lower(matricule) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_raison_sociale_lower ON fournisseurs (lower(raison_sociale) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_email_lower ON fournisseurs (lower(email) text_pattern_ops);
+
+-- Filtre sur le statut seul, dans l'ordre de tri par défaut des listes
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_actif_date_creation ON fournisseurs (actif, date_creation DESC, id DESC);
+
+-- =======================
+-- Tri des listes de fournisseurs (FournisseurSortField)
+-- =======================
+
+-- Index composites (champ, id) parcourus dans un sens ou dans l'autre : la liste est lue dans l'ordre
+-- de l'index, sans tri. matricule et email sont servis par les index de leurs contraintes d'unicité.
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_date_creation_id ON fournisseurs (date_creation, id);
+CREATE INDEX IF NOT EXISTS idx_fournisseurs_raison_sociale_id ON fournisseurs (raison_sociale, id);
+
+-- =======================
+-- Flux de changements des fournisseurs (boîte d'envoi)
+-- =======================
+
+-- Dernier numéro de séquence purgé : un since inférieur reçoit 410 (changements perdus, resynchronisation complète)
+CREATE TABLE IF NOT EXISTS fournisseur_outbox_horizon (
+    id integer PRIMARY KEY,
+    purged_through bigint NOT NULL
+);
+INSERT INTO fournisseur_outbox_horizon (id, purged_through) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+-- =======================
+-- Révocation des tokens d'accès
+-- =======================
+
+-- Version des révocations : chaque nœud la relit périodiquement et recharge revoked_tokens quand elle change
+CREATE TABLE IF NOT EXISTS token_revocation_version (
+    id integer PRIMARY KEY,
+    version bigint NOT NULL
+);
+INSERT INTO token_revocation_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,96 @@
+package com.example.hadilprojectspring.controller;
+
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.service.FournisseurChangeStreamService;
+import com.example.hadilprojectspring.service.FournisseurExportService;
+import com.example.hadilprojectspring.service.FournisseurImportService;
+import com.example.hadilprojectspring.service.FournisseurOutboxService;
+import com.example.hadilprojectspring.service.FournisseurResponseCache;
+import com.example.hadilprojectspring.service.FournisseurResponseCache.SerializedResponse;
+import com.example.hadilprojectspring.service.FournisseurService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Tomcat réel avec la configuration server.compression de application.properties
+@SpringBootTest(classes = FournisseurControllerCompressionTests.WebSlice.class,
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FournisseurControllerCompressionTests {
+
+	// Configuration explicite : ni sécurité, ni JPA, seulement le contrôleur sur un serveur embarqué
+	@Configuration
+	@ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+			WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+	@Import(FournisseurController.class)
+	static class WebSlice {
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@MockitoBean
+	private FournisseurService fournisseurService;
+
+	@MockitoBean
+	private FournisseurExportService fournisseurExportService;
+
+	@MockitoBean
+	private FournisseurImportService fournisseurImportService;
+
+	@MockitoBean
+	private FournisseurResponseCache fournisseurResponseCache;
+
+	@MockitoBean
+	private FournisseurOutboxService fournisseurOutboxService;
+
+	@MockitoBean
+	private FournisseurChangeStreamService fournisseurChangeStreamService;
+
+	@Test
+	void cachedActiveListIsGzipped() throws Exception {
+		List<FournisseurResponseDto> fournisseurs = LongStream.rangeClosed(1, 50).mapToObj(this::fournisseur).toList();
+		// Corps au-delà de server.compression.min-response-size, ETag calculé par le cache réel
+		byte[] body = ("{\"success\":true,\"data\":\"" + "x".repeat(8192) + "\"}").getBytes(StandardCharsets.UTF_8);
+		when(fournisseurResponseCache.getActiveFournisseurs())
+				.thenReturn(new SerializedResponse(body, FournisseurResponseCache.etag(fournisseurs)));
+
+		HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/fournisseurs/active"))
+						.header("Accept", "application/json")
+						.header("Accept-Encoding", "gzip")
+						.build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+
+		assertEquals(200, response.statusCode());
+		assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+		assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+		assertTrue(response.body().length < body.length);
+	}
+
+	private FournisseurResponseDto fournisseur(long id) {
+		FournisseurResponseDto fournisseur = new FournisseurResponseDto();
+		fournisseur.setId(id);
+		fournisseur.setVersion(1L);
+		return fournisseur;
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.hadilprojectspring.controller;
+
+import com.example.hadilprojectspring.service.FournisseurChangeStreamService;
+import com.example.hadilprojectspring.service.FournisseurExportService;
+import com.example.hadilprojectspring.service.FournisseurExportService.ExportFormat;
+import com.example.hadilprojectspring.service.FournisseurImportService;
+import com.example.hadilprojectspring.service.FournisseurOutboxService;
+import com.example.hadilprojectspring.service.FournisseurResponseCache;
+import com.example.hadilprojectspring.service.FournisseurService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FournisseurControllerExportTests {
+
+	@Test
+	void exportUsesItsOwnAsyncTimeout() throws Exception {
+		FournisseurExportService exportService = mock(FournisseurExportService.class);
+		when(exportService.exportFournisseurs(eq(ExportFormat.CSV), eq(true), any())).thenAnswer(invocation -> {
+			OutputStream outputStream = invocation.getArgument(2);
+			outputStream.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		});
+		FournisseurController controller = new FournisseurController(mock(FournisseurService.class),
+				exportService, mock(FournisseurImportService.class), mock(FournisseurResponseCache.class),
+				mock(FournisseurOutboxService.class), mock(FournisseurChangeStreamService.class));
+		ReflectionTestUtils.setField(controller, "exportTimeoutMs", 600_000L);
+		// Délai par défaut des autres requêtes asynchrones
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setAsyncRequestTimeout(30_000L)
+				.build();
+
+		MvcResult result = mockMvc.perform(get("/api/fournisseurs/export").param("actif", "true"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertEquals(600_000L, result.getRequest().getAsyncContext().getTimeout());
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"fournisseurs.csv\""))
+				.andExpect(content().string("id\n1\n"));
+	}
+}
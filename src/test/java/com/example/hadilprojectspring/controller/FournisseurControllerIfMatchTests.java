@@ -0,0 +1,91 @@
+package com.example.hadilprojectspring.controller;
+
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.exception.GlobalExceptionHandler;
+import com.example.hadilprojectspring.service.FournisseurChangeStreamService;
+import com.example.hadilprojectspring.service.FournisseurExportService;
+import com.example.hadilprojectspring.service.FournisseurImportService;
+import com.example.hadilprojectspring.service.FournisseurOutboxService;
+import com.example.hadilprojectspring.service.FournisseurResponseCache;
+import com.example.hadilprojectspring.service.FournisseurService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FournisseurControllerIfMatchTests {
+
+	private static final String BODY = """
+			{"matricule":"M-1","raisonSociale":"Fournisseur 1","adresse":"Adresse 1","codeTva":"TVA1",
+			 "email":"f1@example.com","telephone1":"12345678","responsableContact":"Contact","devise":"TND"%s}""";
+
+	private FournisseurService fournisseurService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		fournisseurService = mock(FournisseurService.class);
+		FournisseurController controller = new FournisseurController(fournisseurService,
+				mock(FournisseurExportService.class), mock(FournisseurImportService.class),
+				mock(FournisseurResponseCache.class), mock(FournisseurOutboxService.class),
+				mock(FournisseurChangeStreamService.class));
+		GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+		ReflectionTestUtils.setField(exceptionHandler, "meterRegistry", new SimpleMeterRegistry());
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(exceptionHandler).build();
+	}
+
+	@Test
+	void strongIfMatchIsUsedAsExpectedVersion() throws Exception {
+		when(fournisseurService.updateFournisseur(eq(1L), any())).thenReturn(new FournisseurResponseDto());
+
+		mockMvc.perform(put("/api/fournisseurs/1").header("If-Match", "\"1-3\"")
+						.contentType(MediaType.APPLICATION_JSON).content(BODY.formatted("")))
+				.andExpect(status().isOk());
+
+		ArgumentCaptor<FournisseurRequestDto> request = ArgumentCaptor.forClass(FournisseurRequestDto.class);
+		verify(fournisseurService).updateFournisseur(eq(1L), request.capture());
+		assertEquals(3L, request.getValue().getVersion());
+	}
+
+	@Test
+	void staleIfMatchIsPreconditionFailed() throws Exception {
+		when(fournisseurService.updateFournisseur(eq(1L), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Fournisseur.class, 1L));
+
+		mockMvc.perform(put("/api/fournisseurs/1").header("If-Match", "\"1-2\"")
+						.contentType(MediaType.APPLICATION_JSON).content(BODY.formatted("")))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void weakIfMatchNeverMatches() throws Exception {
+		mockMvc.perform(put("/api/fournisseurs/1").header("If-Match", "W/\"1-3\"")
+						.contentType(MediaType.APPLICATION_JSON).content(BODY.formatted("")))
+				.andExpect(status().isPreconditionFailed());
+
+		verifyNoInteractions(fournisseurService);
+	}
+
+	@Test
+	void staleBodyVersionIsConflict() throws Exception {
+		when(fournisseurService.updateFournisseur(eq(1L), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Fournisseur.class, 1L));
+
+		mockMvc.perform(put("/api/fournisseurs/1")
+						.contentType(MediaType.APPLICATION_JSON).content(BODY.formatted(",\"version\":2")))
+				.andExpect(status().isConflict());
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.hadilprojectspring.controller;
+
+import com.example.hadilprojectspring.config.GraphQlConfig;
+import com.example.hadilprojectspring.dto.CursorPage;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.example.hadilprojectspring.repository.MatchMode;
+import com.example.hadilprojectspring.service.AuthService;
+import com.example.hadilprojectspring.service.FournisseurService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest
+@TestPropertySource(properties = {"app.graphql.max-depth=5", "app.graphql.max-complexity=200"})
+class FournisseurGraphQlControllerTests {
+
+	// Configuration explicite : le @ComponentScan de l'application chargerait tous les composants
+	@Configuration
+	@Import({FournisseurGraphQlController.class, GraphQlConfig.class})
+	static class GraphQlSlice {
+	}
+
+	@Autowired
+	private GraphQlTester graphQlTester;
+
+	@MockitoBean
+	private FournisseurService fournisseurService;
+
+	@MockitoBean
+	private AuthService authService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void onlyRequestedColumnsAreRead() {
+		when(fournisseurService.getFournisseurColumns(eq(1L), anyCollection())).thenReturn(fournisseur(1L));
+
+		graphQlTester.document("{ fournisseur(id: 1) { matricule email } }")
+				.execute()
+				.path("fournisseur.matricule").entity(String.class).isEqualTo("F-1");
+
+		ArgumentCaptor<Collection<String>> columns = ArgumentCaptor.forClass(Collection.class);
+		verify(fournisseurService).getFournisseurColumns(eq(1L), columns.capture());
+		// id et dateCreation sont toujours lus (historique, curseur)
+		assertEquals(Set.of("id", "dateCreation", "matricule", "email"), Set.copyOf(columns.getValue()));
+	}
+
+	@Test
+	void historiqueIsLoadedOnceForTheWholePage() {
+		when(fournisseurService.scrollFournisseurColumns(any(), any(), any(), any(), eq(MatchMode.CONTAINS),
+				anyCollection(), isNull(), eq(3)))
+				.thenReturn(new CursorPage<>(List.of(fournisseur(1L), fournisseur(2L), fournisseur(3L)), 3, false, null));
+		when(fournisseurService.getLatestAudits(anyCollection(), anyInt()))
+				.thenReturn(Map.of(2L, List.of(audit(2L))));
+
+		graphQlTester.document("{ fournisseurs(first: 3) { edges { node { id historique { action } } } } }")
+				.execute()
+				.path("fournisseurs.edges[*].node.historique[*].action").entityList(String.class)
+				.containsExactly("MODIFICATION");
+
+		verify(fournisseurService, times(1)).getLatestAudits(eq(List.of(1L, 2L, 3L)), anyInt());
+	}
+
+	@Test
+	void tooDeepQueryIsRejectedBeforeExecution() {
+		// Profondeur 6 (> 5) : fournisseurs { edges { node { historique { action } } } } reste autorisée
+		graphQlTester.document("{ __schema { types { fields { type { ofType { name } } } } } }")
+				.execute()
+				.errors()
+				.satisfy(errors -> assertTrue(errors.get(0).getMessage().contains("depth")));
+
+		verifyNoInteractions(fournisseurService);
+	}
+
+	@Test
+	void tooComplexQueryIsRejectedBeforeExecution() {
+		graphQlTester.document("{ fournisseurs(first: 100) { edges { node { id matricule } } } }")
+				.execute()
+				.errors()
+				.satisfy(errors -> assertTrue(errors.get(0).getMessage().contains("complexity")));
+
+		verifyNoInteractions(fournisseurService);
+	}
+
+	private static FournisseurResponseDto fournisseur(Long id) {
+		FournisseurResponseDto fournisseur = new FournisseurResponseDto();
+		fournisseur.setId(id);
+		fournisseur.setMatricule("F-" + id);
+		fournisseur.setEmail("f" + id + "@example.com");
+		fournisseur.setDateCreation(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id));
+		return fournisseur;
+	}
+
+	private static FournisseurAudit audit(Long fournisseurId) {
+		FournisseurAudit audit = new FournisseurAudit();
+		audit.setFournisseurId(fournisseurId);
+		audit.setAction(Action.MODIFICATION);
+		audit.setDateAction(LocalDateTime.now());
+		return audit;
+	}
+}
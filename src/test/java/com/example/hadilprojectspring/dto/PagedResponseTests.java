@@ -0,0 +1,36 @@
+package com.example.hadilprojectspring.dto;
+
+import com.example.hadilprojectspring.dto.PagedResponse.TotalKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedResponseTests {
+
+	@Test
+	void estimatedTotalNeverContradictsTheSliceRead() {
+		SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true);
+
+		PagedResponse<String> response = PagedResponse.of(slice, TotalKind.ESTIMATED, 4L);
+
+		assertEquals(9L, response.getTotalElements());
+		assertEquals(5, response.getTotalPages());
+		assertEquals(TotalKind.ESTIMATED, response.getTotalKind());
+	}
+
+	@Test
+	void noTotalLeavesCountsEmpty() {
+		SliceImpl<String> slice = new SliceImpl<>(List.of("a"), PageRequest.of(0, 10), false);
+
+		PagedResponse<String> response = PagedResponse.of(slice, TotalKind.NONE, null);
+
+		assertNull(response.getTotalElements());
+		assertNull(response.getTotalPages());
+		assertTrue(response.isLast());
+		assertEquals(TotalKind.NONE, TotalKind.from("none"));
+	}
+}
@@ -0,0 +1,15 @@
+package com.example.hadilprojectspring.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FournisseurSpecificationsTests {
+
+	@Test
+	void likePatternEscapesWildcardsAndFollowsMatchMode() {
+		assertEquals("mat\\_01", FournisseurSpecifications.likePattern(" MAT_01 ", MatchMode.EXACT));
+		assertEquals("50\\%\\\\x%", FournisseurSpecifications.likePattern("50%\\x", MatchMode.PREFIX));
+		assertEquals("%a\\_b%", FournisseurSpecifications.likePattern("A_b", MatchMode.CONTAINS));
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTests {
+
+	@Test
+	void hashingRunsOnDedicatedPoolAndOverflowIsRejected() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return Thread.currentThread().getName();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return true;
+			}
+		};
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5_000, registry);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			// Un hachage en cours, un en file : le suivant est rejeté sans attendre
+			var running = callers.submit(() -> encoder.encode("a"));
+			started.await();
+			var queued = callers.submit(() -> encoder.encode("b"));
+			while (registryQueueSize(registry) < 1) {
+				Thread.onSpinWait();
+			}
+
+			ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class,
+					() -> encoder.encode("c"));
+			assertTrue(rejected.getRetryAfterSeconds() >= 1);
+			assertEquals(1.0, registry.counter("auth.password.hashing.rejected").count());
+
+			release.countDown();
+			assertTrue(running.get().startsWith("password-hashing-"));
+			assertTrue(queued.get().startsWith("password-hashing-"));
+		} finally {
+			callers.shutdownNow();
+			encoder.destroy();
+		}
+	}
+
+	private static double registryQueueSize(SimpleMeterRegistry registry) {
+		return registry.get("executor.queued").tag("name", "passwordHashing").gauge().value();
+	}
+}
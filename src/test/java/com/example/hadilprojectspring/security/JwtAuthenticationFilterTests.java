@@ -0,0 +1,76 @@
+package com.example.hadilprojectspring.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTests {
+
+	private JwtUtils jwtUtils;
+	private TokenRevocationList tokenRevocationList;
+	private JwtAuthenticationFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtils = new JwtUtils();
+		ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "testSecretKey123456789012345678901234567890");
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+		ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", 100L);
+		jwtUtils.init();
+
+		tokenRevocationList = mock(TokenRevocationList.class);
+		UserDetailsService userDetailsService = username -> User.withUsername(username).password("x").roles("USER").build();
+
+		filter = new JwtAuthenticationFilter();
+		ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+		ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(filter, "tokenRevocationList", tokenRevocationList);
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void validTokenAuthenticatesTheRequest() throws Exception {
+		JwtUtils.AccessToken token = jwtUtils.issueAccessToken("hadil");
+
+		MockFilterChain chain = filterWith(token);
+
+		assertNotNull(chain.getRequest());
+		assertEquals("hadil", SecurityContextHolder.getContext().getAuthentication().getName());
+	}
+
+	@Test
+	void revokedJtiLeavesTheRequestAnonymous() throws Exception {
+		JwtUtils.AccessToken token = jwtUtils.issueAccessToken("hadil");
+		when(tokenRevocationList.isRevoked(token.jti())).thenReturn(true);
+
+		MockFilterChain chain = filterWith(token);
+
+		// La requête continue (les règles d'accès décident) mais sans authentification
+		assertNotNull(chain.getRequest());
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+	private MockFilterChain filterWith(JwtUtils.AccessToken token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fournisseurs");
+		request.addHeader("Authorization", "Bearer " + token.value());
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		return chain;
+	}
+}
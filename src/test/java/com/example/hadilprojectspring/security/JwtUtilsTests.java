@@ -0,0 +1,76 @@
+package com.example.hadilprojectspring.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTests {
+
+	private JwtUtils jwtUtils;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtils = newJwtUtils(60_000);
+	}
+
+	@Test
+	void validTokenIsVerifiedAndServedFromCache() {
+		String token = jwtUtils.generateTokenFromUsername("hadil");
+
+		Claims first = jwtUtils.getValidatedClaims(token);
+		Claims second = jwtUtils.getValidatedClaims(token);
+
+		assertNotNull(first);
+		assertEquals("hadil", first.getSubject());
+		assertSame(first, second);
+		assertEquals("hadil", jwtUtils.getUsernameFromJwtToken(token));
+	}
+
+	@Test
+	void tamperedTokenIsRejected() {
+		String token = jwtUtils.generateTokenFromUsername("hadil");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertNull(jwtUtils.getValidatedClaims(tampered));
+		assertFalse(jwtUtils.validateJwtToken("pas-un-token"));
+	}
+
+	@Test
+	void accessTokenCarriesUniqueJtiAndExpiration() {
+		JwtUtils.AccessToken first = jwtUtils.issueAccessToken("hadil");
+		JwtUtils.AccessToken second = jwtUtils.issueAccessToken("hadil");
+
+		Claims claims = jwtUtils.getValidatedClaims(first.value());
+		assertEquals(first.jti(), claims.getId());
+		assertEquals(first.expiration().getTime() / 1000, claims.getExpiration().getTime() / 1000);
+		assertNotEquals(first.jti(), second.jti());
+	}
+
+	@Test
+	void expiredTokenIsRejectedAndCounted() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		JwtUtils expiring = newJwtUtils(-1_000, meterRegistry);
+		String token = expiring.generateTokenFromUsername("hadil");
+
+		assertNull(expiring.getValidatedClaims(token));
+		assertEquals(1.0, meterRegistry.get("jwt.validation.failures").tag("cause", "expired").counter().count());
+	}
+
+	private static JwtUtils newJwtUtils(int expirationMs) {
+		return newJwtUtils(expirationMs, new SimpleMeterRegistry());
+	}
+
+	private static JwtUtils newJwtUtils(int expirationMs, SimpleMeterRegistry meterRegistry) {
+		JwtUtils utils = new JwtUtils();
+		ReflectionTestUtils.setField(utils, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(utils, "jwtSecret", "testSecretKey123456789012345678901234567890");
+		ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+		ReflectionTestUtils.setField(utils, "tokenCacheMaxSize", 100L);
+		utils.init();
+		return utils;
+	}
+}
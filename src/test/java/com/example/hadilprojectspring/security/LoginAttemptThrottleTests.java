@@ -0,0 +1,43 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTests {
+
+	@Test
+	void accountIsBlockedAfterMaxFailuresAndResetOnSuccess() {
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(2, Duration.ofMinutes(15),
+				100, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+
+		throttle.recordFailure("Hadil", "10.0.0.1");
+		throttle.checkAllowed("hadil", "10.0.0.2");
+		throttle.recordFailure("hadil", "10.0.0.2");
+
+		TooManyRequestsException blocked = assertThrows(TooManyRequestsException.class,
+				() -> throttle.checkAllowed("HADIL", "10.0.0.3"));
+		assertTrue(blocked.getRetryAfterSeconds() > 0);
+
+		throttle.recordSuccess("hadil");
+		throttle.checkAllowed("hadil", "10.0.0.3");
+	}
+
+	@Test
+	void addressIsBlockedAcrossAccounts() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LoginAttemptThrottle throttle = new LoginAttemptThrottle(100, Duration.ofMinutes(15),
+				2, Duration.ofMinutes(1), 1000, meterRegistry);
+
+		throttle.recordFailure("alice", "10.0.0.1");
+		throttle.recordFailure("bob", "10.0.0.1");
+
+		assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("carol", "10.0.0.1"));
+		throttle.checkAllowed("carol", "10.0.0.2");
+		assertEquals(1.0, meterRegistry.counter("auth.login.throttled").count());
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.RevokedToken;
+import com.example.hadilprojectspring.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTests {
+
+	private RevokedTokenRepository repository;
+	private TokenRevocationList tokenRevocationList;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(RevokedTokenRepository.class);
+		tokenRevocationList = new TokenRevocationList();
+		ReflectionTestUtils.setField(tokenRevocationList, "revokedTokenRepository", repository);
+		ReflectionTestUtils.setField(tokenRevocationList, "meterRegistry", new SimpleMeterRegistry());
+		tokenRevocationList.init();
+	}
+
+	@Test
+	void versionChangeReloadsRevocationsFromOtherNodes() {
+		when(repository.currentVersion()).thenReturn(1L);
+		when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(revoked("jti-1")));
+		tokenRevocationList.synchronize();
+		assertTrue(tokenRevocationList.isRevoked("jti-1"));
+
+		// Même version : pas de relecture de la liste
+		tokenRevocationList.synchronize();
+		verify(repository, times(1)).findByExpiresAtAfter(any());
+
+		// Révocation faite sur un autre nœud : la version change
+		when(repository.currentVersion()).thenReturn(2L);
+		when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(revoked("jti-1"), revoked("jti-2")));
+		tokenRevocationList.synchronize();
+
+		verify(repository, times(2)).findByExpiresAtAfter(any());
+		assertTrue(tokenRevocationList.isRevoked("jti-2"));
+		assertFalse(tokenRevocationList.isRevoked("jti-3"));
+	}
+
+	private static RevokedToken revoked(String jti) {
+		return new RevokedToken(jti, LocalDateTime.now().plusMinutes(10), LocalDateTime.now());
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.hadilprojectspring.security;
+
+import com.example.hadilprojectspring.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTests {
+
+	private UserPrincipalCache userPrincipalCache;
+
+	@BeforeEach
+	void setUp() {
+		userPrincipalCache = new UserPrincipalCache();
+		ReflectionTestUtils.setField(userPrincipalCache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(userPrincipalCache, "maxSize", 100L);
+		ReflectionTestUtils.setField(userPrincipalCache, "ttlSeconds", 300L);
+		userPrincipalCache.init();
+	}
+
+	@Test
+	void emailLookupSharesTheUsernameEntry() {
+		userPrincipalCache.put("alice@example.com", principal("alice"));
+
+		assertEquals("alice", userPrincipalCache.get("alice@example.com").getUsername());
+		assertEquals("alice", userPrincipalCache.get("alice").getUsername());
+		assertNull(userPrincipalCache.get("bob"));
+	}
+
+	@Test
+	void evictRemovesUsernameAndEmailEntries() {
+		userPrincipalCache.put("alice", principal("alice"));
+		userPrincipalCache.put("alice@example.com", principal("alice"));
+		userPrincipalCache.put("bob", principal("bob"));
+
+		userPrincipalCache.evict(new User("alice", "alice@example.com", "secret"));
+
+		assertNull(userPrincipalCache.get("alice"));
+		assertNull(userPrincipalCache.get("alice@example.com"));
+		assertNotNull(userPrincipalCache.get("bob"));
+	}
+
+	@Test
+	void cachedPrincipalIsCopied() {
+		userPrincipalCache.put("alice", principal("alice"));
+
+		// ProviderManager efface le mot de passe du principal renvoyé : l'entrée en cache doit le garder
+		assertNotSame(userPrincipalCache.get("alice"), userPrincipalCache.get("alice"));
+		assertEquals("hash", userPrincipalCache.get("alice").getPassword());
+	}
+
+	private static UserDetails principal(String username) {
+		return org.springframework.security.core.userdetails.User.withUsername(username)
+				.password("hash")
+				.authorities("ROLE_USER")
+				.build();
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.LoginRequest;
+import com.example.hadilprojectspring.exception.TooManyRequestsException;
+import com.example.hadilprojectspring.security.LoginAttemptThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTests {
+
+	private AuthenticationManager authenticationManager;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		authenticationManager = mock(AuthenticationManager.class);
+		when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("mauvais mot de passe"));
+
+		// Même compte par son nom ou son email
+		UserDetailsService userDetailsService = usernameOrEmail -> {
+			if (!usernameOrEmail.equals("hadil") && !usernameOrEmail.equals("hadil@example.com")) {
+				throw new UsernameNotFoundException(usernameOrEmail);
+			}
+			return User.withUsername("hadil").password("x").roles("USER").build();
+		};
+
+		authService = new AuthService();
+		ReflectionTestUtils.setField(authService, "authenticationManager", authenticationManager);
+		ReflectionTestUtils.setField(authService, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(authService, "loginAttemptThrottle", new LoginAttemptThrottle(2,
+				Duration.ofMinutes(15), 100, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void failuresByEmailAndUsernameShareTheAccountWindow() {
+		assertThrows(RuntimeException.class, () -> authService.login(request("hadil@example.com"), "10.0.0.1"));
+		assertThrows(RuntimeException.class, () -> authService.login(request("hadil"), "10.0.0.2"));
+
+		assertThrows(TooManyRequestsException.class, () -> authService.login(request("hadil@example.com"), "10.0.0.3"));
+		assertThrows(TooManyRequestsException.class, () -> authService.login(request("hadil"), "10.0.0.3"));
+		verify(authenticationManager, times(2)).authenticate(any());
+	}
+
+	@Test
+	void unknownAccountIsThrottledOnTheValueEntered() {
+		assertThrows(RuntimeException.class, () -> authService.login(request("inconnu"), "10.0.0.1"));
+		assertThrows(RuntimeException.class, () -> authService.login(request("inconnu"), "10.0.0.2"));
+
+		assertThrows(TooManyRequestsException.class, () -> authService.login(request("inconnu"), "10.0.0.3"));
+	}
+
+	private static LoginRequest request(String usernameOrEmail) {
+		LoginRequest request = new LoginRequest();
+		request.setUsernameOrEmail(usernameOrEmail);
+		request.setPassword("secret");
+		return request;
+	}
+}
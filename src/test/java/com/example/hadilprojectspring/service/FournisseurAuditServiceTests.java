@@ -0,0 +1,97 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.FournisseurAudit;
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.example.hadilprojectspring.repository.FournisseurAuditRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FournisseurAuditServiceTests {
+
+	private FournisseurAuditRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private FournisseurAuditService auditService;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(FournisseurAuditRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		meterRegistry = new SimpleMeterRegistry();
+		auditService = new FournisseurAuditService(repository, new ObjectMapper(), transactionManager,
+				meterRegistry, 2, 10, 1, 2, 0);
+	}
+
+	@Test
+	void queuedEventsAreWrittenInOneBatchOnFlush() {
+		auditService.onFournisseurChange(event(1L));
+		auditService.onFournisseurChange(event(2L));
+		verifyNoInteractions(repository);
+
+		auditService.flush();
+
+		List<FournisseurAudit> written = captureWrites().get(0);
+		assertEquals(List.of(1L, 2L), written.stream().map(FournisseurAudit::getFournisseurId).toList());
+		assertEquals("{\"actif\":true}", written.get(0).getValeurApres());
+	}
+
+	@Test
+	void fullQueueMakesTheCallerWriteItsOwnEvent() {
+		auditService.onFournisseurChange(event(1L));
+		auditService.onFournisseurChange(event(2L));
+		auditService.onFournisseurChange(event(3L));
+
+		List<FournisseurAudit> written = captureWrites().get(0);
+		assertEquals(3L, written.get(0).getFournisseurId());
+		assertEquals(1.0, meterRegistry.counter("audit.events.caller.runs").count());
+
+		auditService.flushOnShutdown();
+		assertEquals(2, captureWrites().size());
+	}
+
+	@Test
+	void rejectedBatchIsRetriedThenWrittenOneByOne() {
+		// Lot contenant l'événement 2 toujours refusé, écritures isolées des autres acceptées
+		when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<FournisseurAudit> entries = invocation.getArgument(0);
+			if (entries.stream().anyMatch(entry -> entry.getFournisseurId() == 2L)) {
+				throw new IllegalStateException("valeur refusée");
+			}
+			return entries;
+		});
+		auditService.onFournisseurChange(event(1L));
+		auditService.onFournisseurChange(event(2L));
+
+		auditService.flush();
+
+		List<List<FournisseurAudit>> writes = captureWrites();
+		// 2 tentatives du lot, puis 1 et 2 séparément
+		assertEquals(4, writes.size());
+		assertEquals(List.of(1L), writes.get(2).stream().map(FournisseurAudit::getFournisseurId).toList());
+		assertEquals(1.0, meterRegistry.counter("audit.events.failed").count());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<FournisseurAudit>> captureWrites() {
+		ArgumentCaptor<List<FournisseurAudit>> captor = ArgumentCaptor.forClass(List.class);
+		verify(repository, atLeastOnce()).saveAll(captor.capture());
+		return captor.getAllValues();
+	}
+
+	private FournisseurChangeEvent event(Long id) {
+		return FournisseurChangeEvent.of(id, Action.CHANGEMENT_STATUT, Map.of("actif", false), Map.of("actif", true));
+	}
+}
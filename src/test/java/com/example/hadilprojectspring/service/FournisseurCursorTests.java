@@ -0,0 +1,26 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FournisseurCursorTests {
+
+	@Test
+	void encodedCursorDecodesToSamePosition() {
+		FournisseurCursor cursor = new FournisseurCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+		FournisseurCursor decoded = FournisseurCursor.decode(cursor.encode());
+
+		assertEquals(cursor, decoded);
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(BadRequestException.class, () -> FournisseurCursor.decode("pas-un-curseur"));
+		assertThrows(BadRequestException.class, () -> FournisseurCursor.decode("%%%"));
+	}
+}
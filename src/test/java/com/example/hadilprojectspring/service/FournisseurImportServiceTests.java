@@ -0,0 +1,120 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.dto.FournisseurImportReport;
+import com.example.hadilprojectspring.dto.FournisseurImportReport.RowResult;
+import com.example.hadilprojectspring.dto.FournisseurImportReport.Status;
+import com.example.hadilprojectspring.dto.FournisseurRequestDto;
+import com.example.hadilprojectspring.dto.FournisseurResponseDto;
+import com.example.hadilprojectspring.entity.Fournisseur;
+import com.example.hadilprojectspring.entity.FournisseurAudit.Action;
+import com.example.hadilprojectspring.mapper.FournisseurMapper;
+import com.example.hadilprojectspring.repository.FournisseurRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class FournisseurImportServiceTests {
+
+	@Test
+	void concurrentUniqueConflictRejectsOnlyItsChunk() {
+		FournisseurRepository repository = mock(FournisseurRepository.class);
+		when(repository.findExistingKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+		// Second lot (lignes 501 à 600) : conflit d'unicité levé au flush par une écriture concurrente
+		AtomicLong ids = new AtomicLong();
+		when(repository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+			Collection<Fournisseur> fournisseurs = invocation.getArgument(0);
+			if (fournisseurs.stream().anyMatch(fournisseur -> fournisseur.getMatricule().equals("M-550"))) {
+				throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+			}
+			fournisseurs.forEach(fournisseur -> fournisseur.setId(ids.incrementAndGet()));
+			return List.copyOf(fournisseurs);
+		});
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		FournisseurImportService importService = new FournisseurImportService(repository, new FournisseurMapper(),
+				Validation.buildDefaultValidatorFactory().getValidator(), mock(EntityManager.class),
+				transactionManager, mock(ApplicationEventPublisher.class));
+
+		List<FournisseurRequestDto> rows = new ArrayList<>();
+		for (int i = 1; i <= 600; i++) {
+			rows.add(row(i));
+		}
+		FournisseurImportReport report = importService.importFournisseurs(rows);
+
+		assertEquals(600, report.getTotal());
+		assertEquals(500, report.getCreated());
+		assertEquals(100, report.getRejected());
+		List<RowResult> rejected = report.getRows().stream().filter(row -> row.getStatus() == Status.REJECTED).toList();
+		assertEquals(501, rejected.get(0).getRow());
+		assertEquals(600, rejected.get(rejected.size() - 1).getRow());
+		verify(transactionManager).rollback(any());
+	}
+
+	@Test
+	void eachCommittedChunkPublishesOneBulkEvent() {
+		FournisseurRepository repository = mock(FournisseurRepository.class);
+		when(repository.findExistingKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+		AtomicLong ids = new AtomicLong();
+		when(repository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+			Collection<Fournisseur> fournisseurs = invocation.getArgument(0);
+			fournisseurs.forEach(fournisseur -> fournisseur.setId(ids.incrementAndGet()));
+			return List.copyOf(fournisseurs);
+		});
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+		FournisseurImportService importService = new FournisseurImportService(repository, new FournisseurMapper(),
+				Validation.buildDefaultValidatorFactory().getValidator(), mock(EntityManager.class),
+				transactionManager, eventPublisher);
+
+		List<FournisseurRequestDto> rows = new ArrayList<>();
+		for (int i = 1; i <= 1200; i++) {
+			rows.add(row(i));
+		}
+		importService.importFournisseurs(rows);
+
+		// Trois lots (500, 500, 200) : un événement chacun, pas un par ligne
+		ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher, times(3)).publishEvent(events.capture());
+		List<FournisseurBulkChangeEvent> published = events.getAllValues().stream()
+				.map(FournisseurBulkChangeEvent.class::cast).toList();
+		assertEquals(List.of(500, 500, 200), published.stream().map(event -> event.fournisseurIds().size()).toList());
+
+		FournisseurBulkChangeEvent last = published.get(2);
+		assertEquals(Action.IMPORT, last.action());
+		assertEquals(1001L, last.fournisseurIds().get(0));
+		assertTrue(last.valeursAvant().stream().allMatch(Objects::isNull));
+		assertEquals("M-1001", ((FournisseurResponseDto) last.valeursApres().get(0)).getMatricule());
+	}
+
+	private static FournisseurRequestDto row(int i) {
+		FournisseurRequestDto dto = new FournisseurRequestDto();
+		dto.setMatricule("M-" + i);
+		dto.setRaisonSociale("Fournisseur " + i);
+		dto.setAdresse("Adresse " + i);
+		dto.setCodeTva("TVA" + i);
+		dto.setEmail("f" + i + "@example.com");
+		dto.setTelephone1("12345678");
+		dto.setResponsableContact("Contact");
+		dto.setDevise("TND");
+		return dto;
+	}
+}
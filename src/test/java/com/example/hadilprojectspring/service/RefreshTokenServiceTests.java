@@ -0,0 +1,90 @@
+package com.example.hadilprojectspring.service;
+
+import com.example.hadilprojectspring.entity.RefreshToken;
+import com.example.hadilprojectspring.exception.InvalidTokenException;
+import com.example.hadilprojectspring.repository.RefreshTokenRepository;
+import com.example.hadilprojectspring.security.JwtUtils;
+import com.example.hadilprojectspring.security.JwtUtils.AccessToken;
+import com.example.hadilprojectspring.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTests {
+
+	private RefreshTokenRepository repository;
+	private TokenRevocationList tokenRevocationList;
+	private SimpleMeterRegistry meterRegistry;
+	private RefreshTokenService refreshTokenService;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(RefreshTokenRepository.class);
+		tokenRevocationList = mock(TokenRevocationList.class);
+		JwtUtils jwtUtils = mock(JwtUtils.class);
+		when(jwtUtils.issueAccessToken("hadil")).thenReturn(
+				new AccessToken("access", "jti-2", new Date(System.currentTimeMillis() + 60_000)));
+		UserDetailsService userDetailsService = username -> User.withUsername(username).password("x").roles("USER").build();
+		meterRegistry = new SimpleMeterRegistry();
+		refreshTokenService = new RefreshTokenService(repository, tokenRevocationList, jwtUtils,
+				userDetailsService, meterRegistry, 60_000);
+	}
+
+	@Test
+	void firstUseRotatesWithinTheSameFamily() {
+		RefreshToken token = token("jti-1", null);
+		when(repository.consume(anyString(), any())).thenReturn(Optional.of(token));
+
+		RefreshTokenService.TokenPair pair = refreshTokenService.rotate("raw");
+
+		assertEquals("jti-2", pair.accessToken().jti());
+		verify(repository).save(argThat(saved -> "famille".equals(saved.getFamilyId())));
+		verify(repository, never()).revokeFamily(anyString(), any());
+	}
+
+	@Test
+	void secondUseRevokesTheWholeFamily() {
+		RefreshToken consumed = token("jti-1", LocalDateTime.now());
+		RefreshToken successor = token("jti-2", null);
+		when(repository.consume(anyString(), any())).thenReturn(Optional.empty());
+		when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(consumed));
+		when(repository.findByFamilyIdAndAccessExpiresAtAfter(eq("famille"), any())).thenReturn(List.of(successor));
+
+		assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("raw"));
+
+		verify(repository).revokeFamily(eq("famille"), any());
+		verify(tokenRevocationList).revoke(eq("jti-2"), any());
+		verify(repository, never()).save(any());
+		assertEquals(1.0, meterRegistry.counter("jwt.refresh.reuse.detected").count());
+	}
+
+	@Test
+	void unknownTokenIsRejectedWithoutRevocation() {
+		when(repository.consume(anyString(), any())).thenReturn(Optional.empty());
+		when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+		assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("inconnu"));
+
+		verify(repository, never()).revokeFamily(anyString(), any());
+		verifyNoInteractions(tokenRevocationList);
+	}
+
+	private static RefreshToken token(String accessTokenJti, LocalDateTime revokedAt) {
+		LocalDateTime now = LocalDateTime.now();
+		return new RefreshToken(1L, "hash", "hadil", "famille", accessTokenJti, now.plusMinutes(10),
+				now.plusDays(14), now, revokedAt);
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.hadilprojectspring.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void addedValuesAreAlwaysFound() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("user" + i + "@example.com"));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("utilisateur" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("inconnu" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "faux positifs: " + falsePositives);
+	}
+}
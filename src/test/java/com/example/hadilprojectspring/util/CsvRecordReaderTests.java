@@ -0,0 +1,34 @@
+package com.example.hadilprojectspring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTests {
+
+	@Test
+	void readsPlainAndQuotedFields() throws IOException {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader(
+				"matricule,raisonSociale,observations\r\n" +
+				"M001,\"Société, Générale\",\"dit \"\"urgent\"\"\nsur deux lignes\"\n" +
+				"M002,,\n"));
+
+		assertEquals(List.of("matricule", "raisonSociale", "observations"), reader.next());
+		assertEquals(List.of("M001", "Société, Générale", "dit \"urgent\"\nsur deux lignes"), reader.next());
+		assertEquals(List.of("M002", "", ""), reader.next());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void lastRecordWithoutTrailingNewlineIsRead() throws IOException {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\nc,d"));
+
+		assertEquals(List.of("a", "b"), reader.next());
+		assertEquals(List.of("c", "d"), reader.next());
+		assertNull(reader.next());
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.hadilprojectspring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void burstUpToCapacityThenOneTokenPerInterval() {
+		long now = 1_000 * SECOND;
+		TokenBucket bucket = new TokenBucket(3, SECOND, now);
+
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(SECOND, bucket.tryAcquire(now));
+
+		// Un refus ne consomme rien : un jeton est disponible après un intervalle
+		assertEquals(SECOND / 2, bucket.tryAcquire(now + SECOND / 2));
+		assertEquals(0, bucket.tryAcquire(now + SECOND));
+		assertTrue(bucket.tryAcquire(now + SECOND) > 0);
+	}
+
+	@Test
+	void bucketIsFullAgainOnceAllTokensAreRefilled() {
+		long now = 1_000 * SECOND;
+		TokenBucket bucket = new TokenBucket(2, SECOND, now);
+		bucket.tryAcquire(now);
+		bucket.tryAcquire(now);
+
+		assertFalse(bucket.isFull(now + SECOND));
+		assertTrue(bucket.isFull(now + 2 * SECOND));
+		assertEquals(0, bucket.tryAcquire(now + 10 * SECOND));
+		assertEquals(0, bucket.tryAcquire(now + 10 * SECOND));
+		assertTrue(bucket.tryAcquire(now + 10 * SECOND) > 0);
+	}
+}